@@ -1,8 +1,12 @@
 // src/app/interceptors/auth.interceptor.ts
-import { HttpInterceptorFn } from '@angular/common/http';
+import { HttpErrorResponse, HttpInterceptorFn } from '@angular/common/http';
 import { inject } from '@angular/core';
+import { catchError, switchMap, throwError } from 'rxjs';
 import { AuthService } from '../services/auth.service';
 
+// Endpoints that must never trigger a refresh attempt themselves
+const AUTH_ENDPOINTS = ['/login', '/token/refresh', '/token/revoke'];
+
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
   const token = authService.getToken();
@@ -11,8 +15,25 @@ export const authInterceptor: HttpInterceptorFn = (req, next) => {
     const authReq = req.clone({
       headers: req.headers.set('Authorization', `Bearer ${token}`)
     });
-    return next(authReq);
+
+    if (AUTH_ENDPOINTS.some(endpoint => req.url.endsWith(endpoint))) {
+      return next(authReq);
+    }
+
+    return next(authReq).pipe(
+      catchError((error: HttpErrorResponse) => {
+        if (error.status !== 401) {
+          return throwError(() => error);
+        }
+        // Access token expired or revoked: rotate the refresh token and retry once
+        return authService.refreshAccessToken().pipe(
+          switchMap(newToken => next(req.clone({
+            headers: req.headers.set('Authorization', `Bearer ${newToken}`)
+          })))
+        );
+      })
+    );
   }
   
   return next(req);
-};
\ No newline at end of file
+};
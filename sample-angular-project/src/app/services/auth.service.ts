@@ -1,12 +1,13 @@
 // src/app/services/auth.service.ts
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpHeaders } from '@angular/common/http';
-import { BehaviorSubject, Observable, catchError, map, throwError } from 'rxjs';
+import { BehaviorSubject, Observable, catchError, finalize, map, shareReplay, throwError } from 'rxjs';
 
 export interface User {
   username: string;
   role: string;
   token: string;
+  refreshToken?: string;
   roles?: string[];
   permissions?: string[];
 }
@@ -18,8 +19,10 @@ export interface LoginRequest {
 
 export interface AuthenticationResponse {
   jwt: string;
+  refreshToken: string;
   tokenType: string;
   expiresIn: number;
+  authorities: string[];
 }
 
 @Injectable({
@@ -29,6 +32,8 @@ export class AuthService {
   private readonly API_URL = 'http://localhost:8080/api'; // Adjust to your backend URL
   private currentUserSubject = new BehaviorSubject<User | null>(null);
   public currentUser$ = this.currentUserSubject.asObservable();
+  // Shared in-flight refresh so concurrent 401s rotate the refresh token only once
+  private refreshInFlight: Observable<string> | null = null;
 
   constructor(private http: HttpClient) {
     // Check if user is already logged in
@@ -65,8 +70,10 @@ export class AuthService {
               username: username,
               role: this.extractPrimaryRole(decodedToken.ROLES || []),
               token: response.jwt,
+              refreshToken: response.refreshToken,
               roles: decodedToken.ROLES || [],
-              permissions: decodedToken.PERMISSIONS || []
+              // The token only carries a permission bitmask; names come with the login response
+              permissions: response.authorities || []
             };
 
             // Store user in localStorage
@@ -84,7 +91,49 @@ export class AuthService {
       );
   }
 
+  // Exchange the refresh token for a new token pair; the old refresh token becomes unusable
+  refreshAccessToken(): Observable<string> {
+    const user = this.getCurrentUser();
+    if (!user || !user.refreshToken) {
+      return throwError(() => new Error('No refresh token available'));
+    }
+
+    if (!this.refreshInFlight) {
+      this.refreshInFlight = this.http.post<AuthenticationResponse>(`${this.API_URL}/token/refresh`,
+        { refreshToken: user.refreshToken })
+        .pipe(
+          map(response => {
+            const refreshedUser: User = {
+              ...user,
+              token: response.jwt,
+              refreshToken: response.refreshToken,
+              permissions: response.authorities || user.permissions
+            };
+            localStorage.setItem('currentUser', JSON.stringify(refreshedUser));
+            this.currentUserSubject.next(refreshedUser);
+            return response.jwt;
+          }),
+          catchError(error => {
+            this.clearSession();
+            return throwError(() => error);
+          }),
+          finalize(() => this.refreshInFlight = null),
+          shareReplay(1)
+        );
+    }
+    return this.refreshInFlight;
+  }
+
   logout(): void {
+    const refreshToken = this.getCurrentUser()?.refreshToken;
+    if (refreshToken) {
+      this.http.post(`${this.API_URL}/token/revoke`, { refreshToken }, { responseType: 'text' })
+        .subscribe({ error: error => console.error('Error revoking session:', error) });
+    }
+    this.clearSession();
+  }
+
+  private clearSession(): void {
     localStorage.removeItem('currentUser');
     this.currentUserSubject.next(null);
   }
@@ -104,7 +153,8 @@ export class AuthService {
       const decodedToken = this.decodeJWT(user.token);
       const currentTime = Date.now() / 1000;
       
-      if (decodedToken.exp && decodedToken.exp < currentTime) {
+      // An expired access token is renewed by the interceptor as long as a refresh token is held
+      if (decodedToken.exp && decodedToken.exp < currentTime && !user.refreshToken) {
         this.logout();
         return false;
       }
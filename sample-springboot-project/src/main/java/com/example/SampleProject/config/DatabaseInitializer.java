@@ -6,17 +6,24 @@ import com.example.SampleProject.model.User;
 import com.example.SampleProject.repository.PermissionRepository;
 import com.example.SampleProject.repository.RoleRepository;
 import com.example.SampleProject.repository.UserRepository;
+import com.example.SampleProject.service.impl.CollectionVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Component
+@Order(1)
 @RequiredArgsConstructor
 @Slf4j
 public class DatabaseInitializer implements CommandLineRunner {
@@ -25,6 +32,7 @@ public class DatabaseInitializer implements CommandLineRunner {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final CollectionVersions collectionVersions;
 
     @Override
     @Transactional
@@ -51,6 +59,9 @@ public class DatabaseInitializer implements CommandLineRunner {
             initializePermissions();
             initializeRoles();
             initializeUsers();
+            for (CollectionVersions.Kind kind : CollectionVersions.Kind.values()) {
+                collectionVersions.touch(kind);
+            }
 
             log.info("Database initialization completed successfully!");
         } catch (Exception e) {
@@ -69,115 +80,83 @@ public class DatabaseInitializer implements CommandLineRunner {
                 "CHAPTER_READ", "CHAPTER_WRITE", "CHAPTER_DELETE"
         };
 
+        // The tables were checked to be empty, so no per-name existence checks are needed
+        List<Permission> permissions = new ArrayList<>();
         for (String name : permissionNames) {
-            if (!permissionRepository.existsByName(name)) {
-                Permission permission = Permission.builder()
-                        .name(name)
-                        .value(true)
-                        .build();
-                permissionRepository.save(permission);
-                log.debug("Created permission: {}", name);
-            }
+            permissions.add(Permission.builder()
+                    .name(name)
+                    .value(true)
+                    .build());
         }
+        permissionRepository.saveAll(permissions);
+        log.debug("Created {} permissions", permissions.size());
     }
 
     private void initializeRoles() {
         log.info("Initializing roles...");
 
-        // Create ADMIN role with all permissions
-        if (!roleRepository.existsByName("ADMIN")) {
-            Set<Permission> allPermissions = new HashSet<>(permissionRepository.findAll());
-            Role adminRole = Role.builder()
-                    .name("ADMIN")
-                    .permissions(allPermissions)
-                    .build();
-            roleRepository.save(adminRole);
-            log.debug("Created ADMIN role with {} permissions", allPermissions.size());
+        Map<String, Permission> permissionsByName = new HashMap<>();
+        for (Permission permission : permissionRepository.findAll()) {
+            permissionsByName.put(permission.getName(), permission);
         }
 
-        // Create TEACHER role with limited permissions
-        if (!roleRepository.existsByName("TEACHER")) {
-            Set<Permission> teacherPermissions = new HashSet<>();
-            String[] teacherPermissionNames = {
-                    "USER_READ", "QUESTION_READ", "QUESTION_WRITE", "QUESTION_DELETE",
-                    "SUBJECT_READ", "SUBJECT_WRITE", "CHAPTER_READ", "CHAPTER_WRITE", "CHAPTER_DELETE"
-            };
-
-            for (String permName : teacherPermissionNames) {
-                permissionRepository.findByName(permName).ifPresent(teacherPermissions::add);
-            }
-
-            Role teacherRole = Role.builder()
-                    .name("TEACHER")
-                    .permissions(teacherPermissions)
-                    .build();
-            roleRepository.save(teacherRole);
-            log.debug("Created TEACHER role with {} permissions", teacherPermissions.size());
-        }
+        // ADMIN has all permissions
+        Role adminRole = role("ADMIN", new HashSet<>(permissionsByName.values()));
 
-        // Create STUDENT role with read-only permissions
-        if (!roleRepository.existsByName("STUDENT")) {
-            Set<Permission> studentPermissions = new HashSet<>();
-            String[] studentPermissionNames = {
-                    "USER_READ", "QUESTION_READ", "SUBJECT_READ", "CHAPTER_READ"
-            };
+        // TEACHER has limited permissions
+        Role teacherRole = role("TEACHER", permissions(permissionsByName,
+                "USER_READ", "QUESTION_READ", "QUESTION_WRITE", "QUESTION_DELETE",
+                "SUBJECT_READ", "SUBJECT_WRITE", "CHAPTER_READ", "CHAPTER_WRITE", "CHAPTER_DELETE"));
 
-            for (String permName : studentPermissionNames) {
-                permissionRepository.findByName(permName).ifPresent(studentPermissions::add);
-            }
+        // STUDENT has read-only permissions
+        Role studentRole = role("STUDENT", permissions(permissionsByName,
+                "USER_READ", "QUESTION_READ", "SUBJECT_READ", "CHAPTER_READ"));
 
-            Role studentRole = Role.builder()
-                    .name("STUDENT")
-                    .permissions(studentPermissions)
-                    .build();
-            roleRepository.save(studentRole);
-            log.debug("Created STUDENT role with {} permissions", studentPermissions.size());
-        }
+        roleRepository.saveAll(List.of(adminRole, teacherRole, studentRole));
+        log.debug("Created ADMIN, TEACHER and STUDENT roles");
     }
 
     private void initializeUsers() {
         log.info("Initializing default users...");
 
-        // Create Admin User
-        if (!userRepository.existsByName("admin")) {
-            Role adminRole = roleRepository.findByName("ADMIN")
-                    .orElseThrow(() -> new RuntimeException("ADMIN role not found"));
-
-            User admin = User.builder()
-                    .name("admin")
-                    .password(passwordEncoder.encode("password123"))
-                    .roles(Set.of(adminRole))
-                    .build();
-            userRepository.save(admin);
-            log.debug("Created admin user");
+        Map<String, Role> rolesByName = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            rolesByName.put(role.getName(), role);
         }
 
-        // Create Teacher User
-        if (!userRepository.existsByName("teacher1")) {
-            Role teacherRole = roleRepository.findByName("TEACHER")
-                    .orElseThrow(() -> new RuntimeException("TEACHER role not found"));
-
-            User teacher = User.builder()
-                    .name("teacher1")
-                    .password(passwordEncoder.encode("password123"))
-                    .roles(Set.of(teacherRole))
-                    .build();
-            userRepository.save(teacher);
-            log.debug("Created teacher1 user");
-        }
+        // The default users share a password, so it is hashed once rather than once per user
+        String password = passwordEncoder.encode("password123");
+
+        userRepository.saveAll(List.of(
+                user("admin", password, rolesByName.get("ADMIN")),
+                user("teacher1", password, rolesByName.get("TEACHER")),
+                user("student1", password, rolesByName.get("STUDENT"))));
+        log.debug("Created admin, teacher1 and student1 users");
+    }
 
-        // Create Student User
-        if (!userRepository.existsByName("student1")) {
-            Role studentRole = roleRepository.findByName("STUDENT")
-                    .orElseThrow(() -> new RuntimeException("STUDENT role not found"));
-
-            User student = User.builder()
-                    .name("student1")
-                    .password(passwordEncoder.encode("password123"))
-                    .roles(Set.of(studentRole))
-                    .build();
-            userRepository.save(student);
-            log.debug("Created student1 user");
+    private static Set<Permission> permissions(Map<String, Permission> permissionsByName, String... names) {
+        Set<Permission> permissions = new HashSet<>();
+        for (String name : names) {
+            Permission permission = permissionsByName.get(name);
+            if (permission != null) {
+                permissions.add(permission);
+            }
         }
+        return permissions;
+    }
+
+    private static Role role(String name, Set<Permission> permissions) {
+        return Role.builder()
+                .name(name)
+                .permissions(permissions)
+                .build();
+    }
+
+    private static User user(String name, String encodedPassword, Role role) {
+        return User.builder()
+                .name(name)
+                .password(encodedPassword)
+                .roles(Set.of(role))
+                .build();
     }
-}
\ No newline at end of file
+}
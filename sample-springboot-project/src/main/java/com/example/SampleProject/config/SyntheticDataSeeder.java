@@ -0,0 +1,267 @@
+package com.example.SampleProject.config;
+
+import com.example.SampleProject.config.security.PermissionRegistry;
+import com.example.SampleProject.service.impl.CollectionVersions;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seeds a production-sized synthetic dataset for local load testing, once, after {@link DatabaseInitializer}.
+ * <p>
+ * Rows are written with JDBC batches, one transaction per batch. Ids are assigned by the database and
+ * read back by name after each batch, so seeding can run while the application serves requests. All
+ * synthetic users share one password hash, computed once. Role and permission assignment is skewed
+ * the way real data is: a few roles hold most users and a few permissions appear in most roles. A
+ * fixed random seed makes the dataset reproducible.
+ * <p>
+ * A row in {@code seed_markers}, written after the last batch, records that seeding completed. Startup
+ * fails if synthetic rows exist without it; remove them before seeding again.
+ */
+@Component
+@Order(2)
+@ConditionalOnProperty(name = "app.seed.synthetic.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    static final String MARKER = "synthetic-data";
+
+    private static final String INSERT_PERMISSION = "INSERT INTO permissions (name, value) VALUES (?, true)";
+    private static final String INSERT_ROLE = "INSERT INTO roles (name) VALUES (?)";
+    private static final String INSERT_ROLE_PERMISSION =
+            "INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)";
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, password, token_version) VALUES (?, ?, 0)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_MARKER = "INSERT INTO seed_markers (name, completed_at) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PermissionRegistry permissionRegistry;
+    private final CollectionVersions collectionVersions;
+
+    private final int userCount;
+    private final int roleCount;
+    private final int permissionCount;
+    private final int batchSize;
+    private final String password;
+    private final long randomSeed;
+
+    public SyntheticDataSeeder(JdbcTemplate jdbcTemplate,
+                               NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               BCryptPasswordEncoder passwordEncoder,
+                               EntityManagerFactory entityManagerFactory,
+                               PermissionRegistry permissionRegistry,
+                               CollectionVersions collectionVersions,
+                               @Value("${app.seed.synthetic.users:1000000}") int userCount,
+                               @Value("${app.seed.synthetic.roles:200}") int roleCount,
+                               @Value("${app.seed.synthetic.permissions:5000}") int permissionCount,
+                               @Value("${app.seed.synthetic.batch-size:5000}") int batchSize,
+                               @Value("${app.seed.synthetic.password:password123}") String password,
+                               @Value("${app.seed.synthetic.random-seed:42}") long randomSeed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+        this.permissionRegistry = permissionRegistry;
+        this.collectionVersions = collectionVersions;
+        this.userCount = userCount;
+        this.roleCount = Math.max(1, roleCount);
+        this.permissionCount = Math.max(1, permissionCount);
+        this.batchSize = Math.max(1, batchSize);
+        this.password = password;
+        this.randomSeed = randomSeed;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer completed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM seed_markers WHERE name = ?", Integer.class, MARKER);
+        if (completed != null && completed > 0) {
+            log.info("Synthetic data already present. Skipping seeding.");
+            return;
+        }
+        Integer partial = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM permissions WHERE name = ?", Integer.class, permissionName(1));
+        if (partial != null && partial > 0) {
+            throw new IllegalStateException("Synthetic data from an interrupted seeding run found; delete the "
+                    + "syn-user-* users and SYN_ROLE_* and SYN_PERMISSION_* rows before seeding again");
+        }
+
+        log.info("Seeding {} users, {} roles and {} permissions...", userCount, roleCount, permissionCount);
+        long start = System.nanoTime();
+        Random random = new Random(randomSeed);
+
+        long[] permissionIds = seedPermissions();
+        long[] roleIds = seedRoles(permissionIds, random);
+        seedUsers(roleIds, random);
+        // Collection ETags handed out while seeding went on are outdated by the same commit as the marker
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT_MARKER, MARKER, new Timestamp(System.currentTimeMillis()));
+            for (CollectionVersions.Kind kind : CollectionVersions.Kind.values()) {
+                collectionVersions.touch(kind);
+            }
+        });
+
+        // The rows bypassed Hibernate, so cached roles, permissions and queries are stale
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        permissionRegistry.refresh();
+
+        log.info("Synthetic seeding completed in {} s", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    private long[] seedPermissions() {
+        List<String> names = new ArrayList<>(permissionCount);
+        for (int i = 0; i < permissionCount; i++) {
+            names.add(permissionName(i + 1));
+        }
+        return insertNamed(INSERT_PERMISSION, "permissions", names);
+    }
+
+    private long[] seedRoles(long[] permissionIds, Random random) {
+        List<String> names = new ArrayList<>(roleCount);
+        for (int i = 0; i < roleCount; i++) {
+            names.add(roleName(i + 1));
+        }
+        long[] roleIds = insertNamed(INSERT_ROLE, "roles", names);
+
+        List<Object[]> rolePermissions = new ArrayList<>();
+        for (long roleId : roleIds) {
+            // Between 5 and 50 permissions, drawn mostly from the first, most common ones
+            int size = Math.min(permissionCount, 5 + random.nextInt(46));
+            Set<Integer> picked = new LinkedHashSet<>();
+            while (picked.size() < size) {
+                picked.add(skewed(random, permissionCount, 2));
+            }
+            for (int permission : picked) {
+                rolePermissions.add(new Object[]{roleId, permissionIds[permission]});
+            }
+        }
+        insert(INSERT_ROLE_PERMISSION, rolePermissions);
+        return roleIds;
+    }
+
+    private void seedUsers(long[] roleIds, Random random) {
+        String encodedPassword = passwordEncoder.encode(password);
+        List<String> names = new ArrayList<>(batchSize);
+        List<Set<Integer>> roles = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < userCount; i++) {
+            names.add("syn-user-" + (i + 1));
+
+            // 80% of users hold one role, 15% two and 5% three; a few roles hold most users
+            int draw = random.nextInt(100);
+            int size = Math.min(roleCount, draw < 80 ? 1 : draw < 95 ? 2 : 3);
+            Set<Integer> picked = new LinkedHashSet<>();
+            while (picked.size() < size) {
+                picked.add(skewed(random, roleCount, 3));
+            }
+            roles.add(picked);
+
+            if (names.size() == batchSize) {
+                insertUsers(names, roles, encodedPassword, roleIds);
+            }
+        }
+        insertUsers(names, roles, encodedPassword, roleIds);
+    }
+
+    // A user's role links are written in the same transaction as the user
+    private void insertUsers(List<String> names, List<Set<Integer>> roles, String encodedPassword, long[] roleIds) {
+        if (names.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Object[]> users = new ArrayList<>(names.size());
+            for (String name : names) {
+                users.add(new Object[]{name, encodedPassword});
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER, users);
+
+            Map<String, Long> userIds = ids("users", names);
+            List<Object[]> userRoles = new ArrayList<>(names.size() * 2);
+            for (int i = 0; i < names.size(); i++) {
+                Long userId = userIds.get(names.get(i));
+                for (int role : roles.get(i)) {
+                    userRoles.add(new Object[]{userId, roleIds[role]});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+        });
+        names.clear();
+        roles.clear();
+    }
+
+    // Inserts rows holding only a name, batch by batch, and returns their ids in the order of the names
+    private long[] insertNamed(String sql, String table, List<String> names) {
+        long[] ids = new long[names.size()];
+        for (int from = 0; from < names.size(); from += batchSize) {
+            List<String> batch = names.subList(from, Math.min(names.size(), from + batchSize));
+            Map<String, Long> batchIds = transactionTemplate.execute(status -> {
+                List<Object[]> rows = new ArrayList<>(batch.size());
+                for (String name : batch) {
+                    rows.add(new Object[]{name});
+                }
+                jdbcTemplate.batchUpdate(sql, rows);
+                return ids(table, batch);
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                ids[from + i] = batchIds.get(batch.get(i));
+            }
+        }
+        return ids;
+    }
+
+    private Map<String, Long> ids(String table, List<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT id, name FROM " + table + " WHERE name IN (:names)",
+                Collections.singletonMap("names", names),
+                (RowCallbackHandler) rs -> ids.put(rs.getString("name"), rs.getLong("id")));
+        return ids;
+    }
+
+    private void insert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    // Index in [0, bound) with low indexes more likely; a higher exponent gives a steeper skew
+    private static int skewed(Random random, int bound, int exponent) {
+        return (int) (bound * Math.pow(random.nextDouble(), exponent));
+    }
+
+    private static String permissionName(int number) {
+        return "SYN_PERMISSION_" + number;
+    }
+
+    private static String roleName(int number) {
+        return "SYN_ROLE_" + number;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.SampleProject.config.datasource;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Occupancy and connection acquire times of each Hikari pool, fed by Hikari itself. Pool sizes
+ * come from Hikari's own snapshot, which it refreshes at most once a second.
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory, MetricsSource {
+
+    private final Map<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Tracker tracker = new Tracker(poolStats);
+        trackers.put(poolName, tracker);
+        return tracker;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "connectionPools";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        trackers.forEach((poolName, tracker) -> metrics.put(poolName, tracker.snapshot()));
+        return metrics;
+    }
+
+    private static final class Tracker implements IMetricsTracker {
+
+        private final PoolStats poolStats;
+        private final LongAdder acquired = new LongAdder();
+        private final LongAdder acquireNanos = new LongAdder();
+        private final LongAccumulator maxAcquireNanos = new LongAccumulator(Long::max, 0);
+        private final LongAdder usageMillis = new LongAdder();
+        private final LongAccumulator maxUsageMillis = new LongAccumulator(Long::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder created = new LongAdder();
+
+        Tracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquired.increment();
+            acquireNanos.add(elapsedAcquiredNanos);
+            maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageMillis.add(elapsedBorrowedMillis);
+            maxUsageMillis.accumulate(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            created.increment();
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("active", poolStats.getActiveConnections());
+            metrics.put("idle", poolStats.getIdleConnections());
+            metrics.put("total", poolStats.getTotalConnections());
+            metrics.put("max", poolStats.getMaxConnections());
+            metrics.put("pending", poolStats.getPendingThreads());
+
+            long acquisitions = acquired.sum();
+            metrics.put("acquisitions", acquisitions);
+            metrics.put("acquireAvgMicros",
+                    acquisitions == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(acquireNanos.sum() / acquisitions));
+            metrics.put("acquireMaxMicros", TimeUnit.NANOSECONDS.toMicros(maxAcquireNanos.get()));
+            metrics.put("usageAvgMillis", acquisitions == 0 ? 0 : usageMillis.sum() / acquisitions);
+            metrics.put("usageMaxMillis", maxUsageMillis.get());
+            metrics.put("acquireTimeouts", timeouts.sum());
+            metrics.put("connectionsCreated", created.sum());
+            return metrics;
+        }
+    }
+}
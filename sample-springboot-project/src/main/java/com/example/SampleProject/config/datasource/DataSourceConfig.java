@@ -0,0 +1,116 @@
+package com.example.SampleProject.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and optional replica connection pools behind one routing {@link DataSource}.
+ * <p>
+ * The primary is configured with the usual {@code spring.datasource.*} properties. The replica
+ * takes {@code app.datasource.replica.*}; a missing username, password or driver falls back to
+ * the primary's, and without {@code app.datasource.replica.url} all reads use the primary.
+ * Pool settings are bound from {@code spring.datasource.hikari.*} and
+ * {@code app.datasource.replica.hikari.*}.
+ * <p>
+ * Both pools report to {@link ConnectionPoolMetrics}, and every statement is timed by
+ * {@link StatementTimingDataSource}, which logs those slower than
+ * {@code app.datasource.slow-query-threshold-ms}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    private final Environment environment;
+
+    public DataSourceConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    public ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics();
+    }
+
+    @Bean
+    public RoutingDataSource routingDataSource(ConnectionPoolMetrics connectionPoolMetrics) {
+        DataSourceProperties primaryProperties = dataSourceProperties();
+        DataSourceProperties replicaProperties = replicaDataSourceProperties();
+
+        HikariDataSource primary = pool(primaryProperties.determineUrl(),
+                primaryProperties.determineUsername(),
+                primaryProperties.determinePassword(),
+                primaryProperties.determineDriverClassName(),
+                "primary", "spring.datasource.hikari", connectionPoolMetrics);
+
+        HikariDataSource replica = null;
+        if (StringUtils.hasText(replicaProperties.getUrl())) {
+            replica = pool(replicaProperties.getUrl(),
+                    StringUtils.hasText(replicaProperties.getUsername())
+                            ? replicaProperties.getUsername() : primaryProperties.determineUsername(),
+                    StringUtils.hasText(replicaProperties.getPassword())
+                            ? replicaProperties.getPassword() : primaryProperties.determinePassword(),
+                    StringUtils.hasText(replicaProperties.getDriverClassName())
+                            ? replicaProperties.getDriverClassName() : primaryProperties.determineDriverClassName(),
+                    "replica", "app.datasource.replica.hikari", connectionPoolMetrics);
+        }
+        return new RoutingDataSource(primary, replica);
+    }
+
+    @Bean
+    public StatementTimingDataSource statementTimingDataSource(
+            RoutingDataSource routingDataSource,
+            @Value("${app.datasource.slow-query-threshold-ms:200}") long slowQueryThresholdMillis) {
+        return new StatementTimingDataSource(routingDataSource, slowQueryThresholdMillis);
+    }
+
+    /**
+     * The data source used by JPA and JDBC. Connections are only taken from a pool on first use,
+     * once the transaction's read-only flag decides the route.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(StatementTimingDataSource statementTimingDataSource) {
+        return new LazyConnectionDataSourceProxy(statementTimingDataSource);
+    }
+
+    private HikariDataSource pool(String url, String username, String password, String driverClassName,
+                                  String poolName, String hikariPrefix,
+                                  MetricsTrackerFactory metricsTrackerFactory) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        if (StringUtils.hasText(driverClassName)) {
+            dataSource.setDriverClassName(driverClassName);
+        }
+        dataSource.setPoolName(poolName);
+        dataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+        Binder.get(environment).bind(hikariPrefix, Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+}
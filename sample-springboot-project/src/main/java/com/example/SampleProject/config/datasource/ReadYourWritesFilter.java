@@ -0,0 +1,89 @@
+package com.example.SampleProject.config.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends the reads of a request to the primary when the caller may otherwise not see its own
+ * writes on a lagging replica: when the request carries {@code X-Consistency: primary}, or when
+ * the same user made a successful write within {@code app.datasource.read-your-writes-window}.
+ * Registered after the security filter chain, so the authenticated user is known.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String CONSISTENCY_HEADER = "X-Consistency";
+
+    private static final int MAX_USERS = 10000;
+
+    private final long windowMillis;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(@Value("${app.datasource.read-your-writes-window:5000}") long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String username = currentUsername();
+        long now = System.currentTimeMillis();
+
+        boolean primary = "primary".equalsIgnoreCase(request.getHeader(CONSISTENCY_HEADER))
+                || wroteRecently(username, now);
+        if (primary) {
+            RoutingDataSource.forcePrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (primary) {
+                RoutingDataSource.release();
+            }
+            if (username != null && isWrite(request.getMethod()) && response.getStatus() < 400) {
+                recordWrite(username, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private boolean wroteRecently(String username, long now) {
+        if (username == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(username);
+        return lastWrite != null && now - lastWrite < windowMillis;
+    }
+
+    private void recordWrite(String username, long now) {
+        if (lastWrites.size() >= MAX_USERS) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowMillis);
+        }
+        lastWrites.put(username, now);
+    }
+
+    private static boolean isWrite(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
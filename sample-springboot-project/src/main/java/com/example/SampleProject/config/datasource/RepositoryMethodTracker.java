@@ -0,0 +1,72 @@
+package com.example.SampleProject.config.datasource;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers which repository method the current thread is in, so that statements can be attributed
+ * to it. Only a reference to the join point is kept; the name is built when a caller asks for it.
+ */
+@Aspect
+@Component
+public class RepositoryMethodTracker {
+
+    private static final ThreadLocal<JoinPoint> CURRENT = new ThreadLocal<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        JoinPoint outer = CURRENT.get();
+        CURRENT.set(joinPoint);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Where the current statement comes from: the repository method, such as
+     * {@code UserRepository.findByName}, or else the transactional service method, or {@code "unknown"}
+     * for statements issued outside both, such as a flush at commit of a plain JDBC call.
+     */
+    static String currentOrigin() {
+        JoinPoint joinPoint = CURRENT.get();
+        if (joinPoint != null) {
+            return repositoryName(joinPoint) + "." + joinPoint.getSignature().getName();
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transactionName != null) {
+            // "com.example.Service.method" -> "Service.method"
+            int methodDot = transactionName.lastIndexOf('.');
+            int classDot = methodDot > 0 ? transactionName.lastIndexOf('.', methodDot - 1) : -1;
+            return transactionName.substring(classDot + 1);
+        }
+        return "unknown";
+    }
+
+    // Inherited methods such as findAll are declared on Spring Data types, and the proxy's interface
+    // order is not part of its contract; name the declared repository interface instead
+    private static String repositoryName(JoinPoint joinPoint) {
+        Object target = joinPoint.getTarget();
+        if (target != null && AopUtils.isAopProxy(target)) {
+            for (Class<?> userInterface : AopProxyUtils.proxiedUserInterfaces(target)) {
+                if (Repository.class.isAssignableFrom(userInterface)
+                        && !userInterface.getName().startsWith("org.springframework.")) {
+                    return userInterface.getSimpleName();
+                }
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.SampleProject.config.datasource;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends connections of read-only transactions to the replica pool and everything else to the
+ * primary. The routing decision is made when a connection is first used, so this must sit behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the
+ * connection is taken before the transaction's read-only flag is known.
+ * <p>
+ * Without a replica both routes use the primary pool.
+ */
+public class RoutingDataSource extends AbstractRoutingDataSource implements MetricsSource, DisposableBean {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder forcedPrimaryConnections = new LongAdder();
+
+    public RoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, replica != null ? replica : primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Send every connection taken by the current thread to the primary, read-only or not,
+     * until {@link #release()}. Used for reads that must see the caller's own recent writes.
+     */
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static void release() {
+        PRIMARY_FORCED.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryConnections.increment();
+            return Route.PRIMARY;
+        }
+        if (PRIMARY_FORCED.get() != null) {
+            forcedPrimaryConnections.increment();
+            return Route.PRIMARY;
+        }
+        replicaConnections.increment();
+        return Route.REPLICA;
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * @return the replica pool, or {@code null} when reads go to the primary
+     */
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "dataSourceRouting";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("replicaConfigured", replica != null);
+        metrics.put("primaryConnections", primaryConnections.sum());
+        metrics.put("replicaConnections", replicaConnections.sum());
+        metrics.put("forcedPrimaryConnections", forcedPrimaryConnections.sum());
+        return metrics;
+    }
+
+    @Override
+    public void destroy() {
+        if (replica != null) {
+            replica.close();
+        }
+        primary.close();
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.SampleProject.config.datasource;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every statement executed through its connections. Statements slower than the threshold are
+ * logged with their SQL, number of bound parameters, duration and the repository method they came
+ * from; bound values are never logged. A negative threshold turns the log off, timing stays on.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementTimingDataSource.class);
+
+    private static final int MAX_SQL_LENGTH = 1000;
+    private static final int MAX_ORIGINS = 256;
+    private static final String OVERFLOW_ORIGIN = "other";
+
+    private final long thresholdNanos;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder statementNanos = new LongAdder();
+    private final LongAccumulator maxStatementNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder slowStatements = new LongAdder();
+    private final Map<String, LongAdder> slowByOrigin = new ConcurrentHashMap<>();
+
+    public StatementTimingDataSource(DataSource targetDataSource, long thresholdMillis) {
+        super(targetDataSource);
+        this.thresholdNanos = thresholdMillis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private void record(String sql, int binds, int batchSize, long elapsedNanos) {
+        statements.increment();
+        statementNanos.add(elapsedNanos);
+        maxStatementNanos.accumulate(elapsedNanos);
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        String origin = RepositoryMethodTracker.currentOrigin();
+        slowStatements.increment();
+        slowCounter(origin).increment();
+        if (sql != null && sql.length() > MAX_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_SQL_LENGTH) + "...";
+        }
+        log.warn("Slow query: {} ms, {} binds, batch of {}, from {}: {}",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), binds, batchSize, origin, sql);
+    }
+
+    private LongAdder slowCounter(String origin) {
+        LongAdder counter = slowByOrigin.get(origin);
+        if (counter != null) {
+            return counter;
+        }
+        // Origins are a fixed set of methods; cap the map anyway
+        if (slowByOrigin.size() >= MAX_ORIGINS) {
+            return slowByOrigin.computeIfAbsent(OVERFLOW_ORIGIN, key -> new LongAdder());
+        }
+        return slowByOrigin.computeIfAbsent(origin, key -> new LongAdder());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "statements";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        long count = statements.sum();
+        metrics.put("executed", count);
+        metrics.put("avgMicros", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(statementNanos.sum() / count));
+        metrics.put("maxMillis", TimeUnit.NANOSECONDS.toMillis(maxStatementNanos.get()));
+        metrics.put("slowThresholdMillis",
+                thresholdNanos == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMillis(thresholdNanos));
+        metrics.put("slow", slowStatements.sum());
+
+        Map<String, Object> origins = new TreeMap<>();
+        slowByOrigin.forEach((origin, counter) -> origins.put(origin, counter.sum()));
+        metrics.put("slowByOrigin", origins);
+        return metrics;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // A proxy equals only itself, like the pooled objects it stands for
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class
+                && (method.getName().equals("equals") || method.getName().equals("hashCode"));
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = StatementTimingDataSource.invoke(connection, method, args);
+            Class<?> type;
+            switch (method.getName()) {
+                case "createStatement":
+                    type = Statement.class;
+                    break;
+                case "prepareStatement":
+                    type = PreparedStatement.class;
+                    break;
+                case "prepareCall":
+                    type = CallableStatement.class;
+                    break;
+                default:
+                    return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) result, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final BitSet bound = new BitSet();
+        private int batchSize;
+        private int batchBinds;
+
+        StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return timed(method, args, name);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bound.set((Integer) args[0]);
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+                batchBinds += bound.cardinality();
+            } else if ("clearParameters".equals(name)) {
+                bound.clear();
+            } else if ("clearBatch".equals(name)) {
+                batchSize = 0;
+                batchBinds = 0;
+            }
+            return StatementTimingDataSource.invoke(statement, method, args);
+        }
+
+        private Object timed(Method method, Object[] args, String name) throws Throwable {
+            boolean batch = name.equals("executeBatch") || name.equals("executeLargeBatch");
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            int binds = batch ? batchBinds : bound.cardinality();
+            int statementCount = batch ? batchSize : 1;
+
+            long start = System.nanoTime();
+            try {
+                return StatementTimingDataSource.invoke(statement, method, args);
+            } finally {
+                record(sql, binds, statementCount, System.nanoTime() - start);
+                if (batch) {
+                    batchSize = 0;
+                    batchBinds = 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.SampleProject.config.metrics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Session, query and load counts from Hibernate statistics. Cache regions are reported separately
+ * by {@link SecondLevelCacheMetrics}.
+ */
+@Component
+public class HibernateMetrics implements MetricsSource {
+
+    private final Statistics statistics;
+
+    public HibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "hibernate";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("sessionsOpened", statistics.getSessionOpenCount());
+        metrics.put("transactions", statistics.getTransactionCount());
+        metrics.put("flushes", statistics.getFlushCount());
+        metrics.put("statementsPrepared", statistics.getPrepareStatementCount());
+        metrics.put("queries", statistics.getQueryExecutionCount());
+        metrics.put("queryMaxMillis", statistics.getQueryExecutionMaxTime());
+        metrics.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        metrics.put("entityLoads", statistics.getEntityLoadCount());
+        metrics.put("entityFetches", statistics.getEntityFetchCount());
+        metrics.put("entityInserts", statistics.getEntityInsertCount());
+        metrics.put("entityUpdates", statistics.getEntityUpdateCount());
+        metrics.put("collectionLoads", statistics.getCollectionLoadCount());
+        metrics.put("collectionFetches", statistics.getCollectionFetchCount());
+        metrics.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        metrics.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        metrics.put("optimisticFailures", statistics.getOptimisticFailureCount());
+        return metrics;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.SampleProject.config.metrics;
+
+import java.util.Map;
+
+/**
+ * A component that publishes a snapshot of its counters through {@code /api/metrics}.
+ */
+public interface MetricsSource {
+
+    /**
+     * Name under which the metrics are grouped
+     */
+    String getMetricsName();
+
+    /**
+     * Point-in-time snapshot of the metrics
+     */
+    Map<String, Object> getMetrics();
+}
@@ -0,0 +1,55 @@
+package com.example.SampleProject.config.metrics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hit, miss and put counts of the Hibernate second-level and query caches, per region.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MetricsSource {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "secondLevelCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("hits", statistics.getSecondLevelCacheHitCount());
+        metrics.put("misses", statistics.getSecondLevelCacheMissCount());
+        metrics.put("puts", statistics.getSecondLevelCachePutCount());
+        metrics.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        metrics.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        metrics.put("queryCachePuts", statistics.getQueryCachePutCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> regionMetrics = new LinkedHashMap<>();
+            regionMetrics.put("hits", region.getHitCount());
+            regionMetrics.put("misses", region.getMissCount());
+            regionMetrics.put("puts", region.getPutCount());
+            regionMetrics.put("entries", region.getElementCountInMemory());
+            regions.put(regionName, regionMetrics);
+        }
+        metrics.put("regions", regions);
+        return metrics;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Immutable authorities and permission bits granted by a role or a set of roles.
+ * Instances are shared by every principal holding the same roles.
+ */
+public final class AuthorityGrant {
+
+    private final List<GrantedAuthority> authorities;
+    private final PermissionSet permissions;
+
+    AuthorityGrant(List<GrantedAuthority> authorities, PermissionSet permissions) {
+        this.authorities = authorities;
+        this.permissions = permissions;
+    }
+
+    /**
+     * Unmodifiable list of role and permission authorities
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public PermissionSet getPermissions() {
+        return permissions;
+    }
+}
@@ -38,13 +38,17 @@ public class CorsConfig {
                 "Authorization",
                 "X-Requested-With",
                 "Cache-Control",
-                "X-CSRF-TOKEN"
+                "X-CSRF-TOKEN",
+                "X-Consistency",
+                "If-None-Match",
+                "If-Match"
         ));
 
         // Expose headers that frontend can read
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",
-                "Content-Disposition"
+                "Content-Disposition",
+                "ETag"
         ));
 
         // Allow credentials (cookies, authorization headers)
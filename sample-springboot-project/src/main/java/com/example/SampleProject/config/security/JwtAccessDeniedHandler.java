@@ -0,0 +1,42 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.exception.ErrorLogLimiter;
+import com.example.SampleProject.exception.ErrorResponseWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Answers requests rejected by the {@link RouteTable} with a body serialised once at startup,
+ * completed with the request timestamp and path, instead of a container error dispatch.
+ */
+@Component
+public class JwtAccessDeniedHandler implements AccessDeniedHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAccessDeniedHandler.class);
+
+    private static final byte[] FORBIDDEN_PREFIX = ErrorResponseWriter.staticPrefix(HttpServletResponse.SC_FORBIDDEN,
+            "Access denied", "You don't have permission to access this resource", "ACCESS_DENIED");
+
+    private final ErrorResponseWriter errorResponseWriter;
+    private final ErrorLogLimiter errorLogLimiter;
+
+    public JwtAccessDeniedHandler(ErrorResponseWriter errorResponseWriter, ErrorLogLimiter errorLogLimiter) {
+        this.errorResponseWriter = errorResponseWriter;
+        this.errorLogLimiter = errorLogLimiter;
+    }
+
+    @Override
+    public void handle(HttpServletRequest request,
+                       HttpServletResponse response,
+                       AccessDeniedException accessDeniedException) throws IOException {
+        errorLogLimiter.warn(logger, "ACCESS_DENIED", "Access denied: {}", request.getRequestURI());
+        errorResponseWriter.write(response, HttpServletResponse.SC_FORBIDDEN, FORBIDDEN_PREFIX, request.getRequestURI());
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.impl.DefaultClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * HS256 JWT encoder/decoder used on the request hot path.
+ * <p>
+ * The signing key is derived once, every thread keeps its own initialised {@link Mac},
+ * the constant header is pre-encoded and payloads are read with a streaming parser,
+ * so issuing and verifying a token allocates little beyond the token itself.
+ * Tokens are byte-for-byte compatible with the ones jjwt produces for the same secret.
+ */
+@Component
+public class JwtCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder URL_DECODER = Base64.getUrlDecoder();
+
+    private static final String HEADER = URL_ENCODER.encodeToString(
+            "{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private final SecretKeySpec signingKey;
+    private final ThreadLocal<Mac> macs;
+
+    public JwtCodec(@Value("${jwt.secret}") String secretKey) {
+        this.signingKey = new SecretKeySpec(decodeSecret(secretKey), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * jjwt treats the configured secret as base64 and decodes it leniently: characters outside the
+     * alphabet are skipped, decoding stops at padding and a dangling final character is dropped.
+     * The same key bytes are derived here, so tokens stay interchangeable.
+     */
+    static byte[] decodeSecret(String secretKey) {
+        StringBuilder base64 = new StringBuilder(secretKey.length());
+        for (int i = 0; i < secretKey.length(); i++) {
+            char c = secretKey.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || c == '/') {
+                base64.append(c);
+            }
+        }
+        if (base64.length() % 4 == 1) {
+            base64.setLength(base64.length() - 1);
+        }
+        return Base64.getDecoder().decode(base64.toString());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    /**
+     * Encode and sign a token.
+     *
+     * @param customClaims JSON members to place before the registered claims, without the enclosing braces
+     */
+    public String encode(CharSequence customClaims, String subject, long issuedAtMillis, long expiresAtMillis) {
+        StringBuilder payload = new StringBuilder(customClaims.length() + subject.length() + 64);
+        payload.append('{');
+        if (customClaims.length() > 0) {
+            payload.append(customClaims).append(',');
+        }
+        payload.append("\"sub\":");
+        appendJsonString(payload, subject);
+        payload.append(",\"iat\":").append(issuedAtMillis / 1000)
+                .append(",\"exp\":").append(expiresAtMillis / 1000)
+                .append('}');
+
+        StringBuilder token = new StringBuilder(HEADER.length() + payload.length() * 2 + 48);
+        token.append(HEADER).append('.')
+                .append(URL_ENCODER.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8)));
+
+        byte[] signingInput = token.toString().getBytes(StandardCharsets.US_ASCII);
+        byte[] signature = macs.get().doFinal(signingInput);
+        return token.append('.').append(URL_ENCODER.encodeToString(signature)).toString();
+    }
+
+    /**
+     * Verify the signature and expiration of the token and read its claims.
+     */
+    public VerifiedToken decode(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot < 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new StacklessMalformedJwtException("JWT strings must contain exactly 2 period characters.");
+        }
+
+        if (!token.startsWith(HEADER) || firstDot != HEADER.length()) {
+            throw new StacklessUnsupportedJwtException("Only HS256 signed JWTs are supported.");
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        Mac mac = macs.get();
+        mac.update(bytes, 0, secondDot);
+        byte[] expected = URL_ENCODER.encode(mac.doFinal());
+        if (!signatureMatches(expected, bytes, secondDot + 1)) {
+            throw new StacklessSignatureException("JWT signature does not match locally computed signature.");
+        }
+
+        byte[] payload;
+        try {
+            payload = URL_DECODER.decode(token.substring(firstDot + 1, secondDot));
+        } catch (IllegalArgumentException e) {
+            throw new StacklessMalformedJwtException("Unable to decode JWT payload.", e);
+        }
+
+        VerifiedToken verifiedToken = readPayload(payload);
+        if (verifiedToken.isExpired(System.currentTimeMillis())) {
+            DefaultClaims claims = new DefaultClaims();
+            claims.setSubject(verifiedToken.getUsername());
+            claims.setExpiration(new Date(verifiedToken.getExpiresAt()));
+            throw new StacklessExpiredJwtException(claims,
+                    "JWT expired at " + claims.getExpiration().toInstant());
+        }
+        return verifiedToken;
+    }
+
+    private static boolean signatureMatches(byte[] expected, byte[] token, int offset) {
+        if (token.length - offset != expected.length) {
+            return false;
+        }
+        int difference = 0;
+        for (int i = 0; i < expected.length; i++) {
+            difference |= expected[i] ^ token[offset + i];
+        }
+        return difference == 0;
+    }
+
+    private static VerifiedToken readPayload(byte[] payload) {
+        String subject = null;
+        Long userId = null;
+        long tokenVersion = 0L;
+        long expiresAt = Long.MAX_VALUE;
+        List<String> roles = Collections.emptyList();
+        PermissionSet permissions = PermissionSet.EMPTY;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new StacklessMalformedJwtException("JWT payload is not a JSON object.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "sub":
+                        subject = parser.getValueAsString();
+                        break;
+                    case "exp":
+                        expiresAt = parser.getValueAsLong() * 1000;
+                        break;
+                    case "UID":
+                        userId = value == JsonToken.VALUE_NULL ? null : parser.getValueAsLong();
+                        break;
+                    case "VER":
+                        tokenVersion = parser.getValueAsLong();
+                        break;
+                    case "ROLES":
+                        roles = readStringArray(parser, value);
+                        break;
+                    case "PERMS":
+                        permissions = PermissionSet.decode(parser.getValueAsString());
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new StacklessMalformedJwtException("Unable to read JWT payload.", e);
+        }
+
+        return new VerifiedToken(subject, userId, tokenVersion, expiresAt, roles, permissions);
+    }
+
+    private static List<String> readStringArray(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(parser.getValueAsString());
+        }
+        return values;
+    }
+
+    /**
+     * Append {@code value} as a quoted JSON string
+     */
+    static void appendJsonString(StringBuilder target, String value) {
+        target.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    target.append("\\\"");
+                    break;
+                case '\\':
+                    target.append("\\\\");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        target.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        target.append(c);
+                    }
+            }
+        }
+        target.append('"');
+    }
+
+    /*
+     * Rejected tokens are routine (expired sessions, scanners), so the exceptions thrown for them skip
+     * stack trace capture. They extend the jjwt types, so existing catch blocks are unaffected.
+     */
+
+    private static final class StacklessMalformedJwtException extends MalformedJwtException {
+        StacklessMalformedJwtException(String message) {
+            super(message);
+        }
+
+        StacklessMalformedJwtException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class StacklessUnsupportedJwtException extends UnsupportedJwtException {
+        StacklessUnsupportedJwtException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class StacklessSignatureException extends SignatureException {
+        StacklessSignatureException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class StacklessExpiredJwtException extends ExpiredJwtException {
+        // Decoded without a header object, so none is attached
+        StacklessExpiredJwtException(Claims claims, String message) {
+            super(null, claims, message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
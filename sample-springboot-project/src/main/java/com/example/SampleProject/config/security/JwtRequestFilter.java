@@ -1,15 +1,21 @@
 package com.example.SampleProject.config.security;
 
+import com.example.SampleProject.dto.CustomUserDetail;
+import com.example.SampleProject.exception.ErrorLogLimiter;
+import com.example.SampleProject.exception.ErrorResponseWriter;
 import com.example.SampleProject.service.impl.MyUserDetailServiceImplementation;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -26,63 +32,130 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtRequestFilter.class);
 
+    // Bodies for the fixed rejection messages, serialised once
+    private static final byte[] EXPIRED_BODY = unauthorizedBody("JWT token is expired");
+    private static final byte[] UNSUPPORTED_BODY = unauthorizedBody("JWT token is unsupported");
+    private static final byte[] MALFORMED_BODY = unauthorizedBody("JWT token is malformed");
+    private static final byte[] INVALID_BODY = unauthorizedBody("JWT token is invalid");
+    private static final byte[] FAILED_BODY = unauthorizedBody("Authentication failed");
+    private static final byte[] ERROR_BODY = ErrorResponseWriter.staticBody(
+            HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Authentication could not be completed",
+            "Please retry the request", "AUTHENTICATION_ERROR");
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private MyUserDetailServiceImplementation myUserDetailServiceImplementation;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private RouteTable routeTable;
+
+    @Autowired
+    private ErrorResponseWriter errorResponseWriter;
+
+    @Autowired
+    private ErrorLogLimiter errorLogLimiter;
+
+    // When enabled, the principal is rebuilt from the token claims instead of being loaded per request
+    @Value("${jwt.stateless:false}")
+    private boolean statelessAuthentication;
+
+    // Public routes and preflight requests never need a principal, so their tokens are not even parsed
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return routeTable.isPublic(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
         try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = myUserDetailServiceImplementation.loadUserByUsername(username);
-
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        userDetails.getAuthorities()
-                                );
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-
-                        logger.debug("Successfully authenticated user: {}", username);
-                    } else {
-                        logger.warn("JWT token validation failed for user: {}", username);
-                    }
-                }
-            }
-
-            filterChain.doFilter(request, response);
-
+            authenticate(request);
         } catch (ExpiredJwtException e) {
-            logger.warn("JWT token is expired: {}", e.getMessage());
-            handleAuthenticationError(response, "JWT token is expired");
+            errorLogLimiter.warn(logger, "JWT_EXPIRED", "JWT token is expired: {}", e.getMessage());
+            handleAuthenticationError(response, EXPIRED_BODY);
+            return;
         } catch (UnsupportedJwtException e) {
-            logger.warn("JWT token is unsupported: {}", e.getMessage());
-            handleAuthenticationError(response, "JWT token is unsupported");
+            errorLogLimiter.warn(logger, "JWT_UNSUPPORTED", "JWT token is unsupported: {}", e.getMessage());
+            handleAuthenticationError(response, UNSUPPORTED_BODY);
+            return;
         } catch (MalformedJwtException e) {
-            logger.warn("JWT token is malformed: {}", e.getMessage());
-            handleAuthenticationError(response, "JWT token is malformed");
+            errorLogLimiter.warn(logger, "JWT_MALFORMED", "JWT token is malformed: {}", e.getMessage());
+            handleAuthenticationError(response, MALFORMED_BODY);
+            return;
+        } catch (SignatureException e) {
+            errorLogLimiter.warn(logger, "JWT_SIGNATURE", "JWT signature is invalid: {}", e.getMessage());
+            handleAuthenticationError(response, INVALID_BODY);
+            return;
         } catch (IllegalArgumentException e) {
-            logger.warn("JWT token compact is illegal: {}", e.getMessage());
-            handleAuthenticationError(response, "JWT token is invalid");
+            errorLogLimiter.warn(logger, "JWT_INVALID", "JWT token compact is illegal: {}", e.getMessage());
+            handleAuthenticationError(response, INVALID_BODY);
+            return;
+        } catch (UsernameNotFoundException e) {
+            errorLogLimiter.warn(logger, "JWT_UNKNOWN_USER", "JWT token names an unknown user: {}", e.getMessage());
+            handleAuthenticationError(response, FAILED_BODY);
+            return;
         } catch (Exception e) {
-            logger.error("Cannot set user authentication in security context", e);
-            handleAuthenticationError(response, "Authentication failed");
+            // Not a problem with the token (e.g. the database is unavailable): report a server error
+            errorLogLimiter.error(logger, "AUTHENTICATION_ERROR", "Cannot set user authentication in security context: {}", e);
+            errorResponseWriter.write(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, ERROR_BODY);
+            return;
+        }
+
+        // Outside the try, so failures further down the chain are not reported as authentication errors
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request) {
+        String jwt = getJwtFromRequest(request);
+        if (!StringUtils.hasText(jwt)) {
+            return;
+        }
+
+        VerifiedToken verifiedToken = jwtUtil.verify(jwt);
+        String username = verifiedToken.getUsername();
+
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = statelessAuthentication
+                    ? jwtUtil.toUserDetails(verifiedToken)
+                    : myUserDetailServiceImplementation.loadUserByUsername(username);
+
+            if (jwtUtil.validateToken(verifiedToken, userDetails)
+                    && isTokenVersionCurrent(verifiedToken, userDetails)) {
+                UsernamePasswordAuthenticationToken authToken =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                logger.debug("Successfully authenticated user: {}", username);
+            } else {
+                logger.warn("JWT token validation failed for user: {}", username);
+            }
         }
     }
 
+    private boolean isTokenVersionCurrent(VerifiedToken verifiedToken, UserDetails userDetails) {
+        long tokenVersion = verifiedToken.getTokenVersion();
+
+        if (statelessAuthentication) {
+            Long currentVersion = tokenVersionRegistry.currentVersion(userDetails.getUsername());
+            return currentVersion != null && currentVersion == tokenVersion;
+        }
+
+        return !(userDetails instanceof CustomUserDetail)
+                || ((CustomUserDetail) userDetails).getTokenVersion() == tokenVersion;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -91,15 +164,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private void handleAuthenticationError(HttpServletResponse response, String message) throws IOException {
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
+    private void handleAuthenticationError(HttpServletResponse response, byte[] body) throws IOException {
+        errorResponseWriter.write(response, HttpServletResponse.SC_UNAUTHORIZED, body);
+    }
 
-        String jsonResponse = String.format(
-                "{\"success\": false, \"message\": \"%s\", \"status\": 401}",
-                message
-        );
-        response.getWriter().write(jsonResponse);
+    private static byte[] unauthorizedBody(String message) {
+        return ErrorResponseWriter.staticBody(HttpServletResponse.SC_UNAUTHORIZED, message);
     }
-}
\ No newline at end of file
+}
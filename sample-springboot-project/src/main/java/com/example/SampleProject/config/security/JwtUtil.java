@@ -1,87 +1,184 @@
 package com.example.SampleProject.config.security;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import com.example.SampleProject.dto.CustomUserDetail;
+import com.example.SampleProject.dto.PermissionSet;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class JwtUtil {
 
-    // FIXED: Use configurable secret key instead of hardcoded "secret"
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private static final String USER_ID_CLAIM = "UID";
+    private static final String TOKEN_VERSION_CLAIM = "VER";
+    private static final int AUTHORITY_CLAIMS_MAX_SIZE = 1024;
+    private static final String ROLE_PREFIX = "ROLE_";
 
     // FIXED: Use configurable expiration time
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
+    @Value("${jwt.expiration:900000}") // 15 minutes in milliseconds, renewed through refresh tokens
     private long jwtExpiration;
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    // Upper bound of recently verified tokens kept in memory (0 disables the cache)
+    @Value("${jwt.verification-cache.max-size:10000}")
+    private int verificationCacheMaxSize;
+
+    // Least recently used tokens are dropped first once the cache is full
+    private final Map<String, VerifiedToken> verifiedTokens = new LinkedHashMap<String, VerifiedToken>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > verificationCacheMaxSize;
+        }
+    };
+
+    // ROLES/PERMS claim fragments, keyed by the authority collection they were rendered from
+    private final Map<Collection<? extends GrantedAuthority>, String> authorityClaims = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JwtCodec jwtCodec;
+
+    @Autowired
+    private PermissionRegistry permissionRegistry;
+
+    @Autowired
+    private RoleAuthorityRegistry roleAuthorityRegistry;
+
+    /**
+     * Verify the signature and expiration of the token once and return its claims.
+     * Recently verified tokens are served from memory until they expire, so clients
+     * reusing the same bearer token pay for parsing and signature verification only once.
+     *
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token is expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature is invalid
+     */
+    public VerifiedToken verify(String token) {
+        if (verificationCacheMaxSize <= 0) {
+            return jwtCodec.decode(token);
+        }
+
+        synchronized (verifiedTokens) {
+            VerifiedToken cached = verifiedTokens.get(token);
+            if (cached != null) {
+                if (!cached.isExpired(System.currentTimeMillis())) {
+                    return cached;
+                }
+                verifiedTokens.remove(token);
+            }
+        }
+
+        VerifiedToken verified = jwtCodec.decode(token);
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Lifetime of newly issued access tokens in milliseconds
+     */
+    public long getExpiration() {
+        return jwtExpiration;
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractUsername(String token) {
+        return verify(token).getUsername();
+    }
+
+    public Date extractExpiration(String token) {
+        return new Date(verify(token).getExpiresAt());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Rebuild the principal from the verified token claims, without touching the database.
+     * Produces the same authorities that {@link CustomUserDetail} computes from the user entity.
+     */
+    public CustomUserDetail toUserDetails(VerifiedToken verifiedToken) {
+        AuthorityGrant grant = roleAuthorityRegistry.grantFor(verifiedToken.getRoles(), verifiedToken.getPermissions());
+
+        return new CustomUserDetail(
+                verifiedToken.getUserId(),
+                verifiedToken.getUsername(),
+                null,
+                verifiedToken.getTokenVersion(),
+                grant.getAuthorities(),
+                grant.getPermissions()
+        );
     }
 
     public Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token).isExpired(System.currentTimeMillis());
     }
 
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
+        StringBuilder claims = new StringBuilder(256);
+        claims.append(authorityClaims(userDetails.getAuthorities()));
 
-        // Extract roles and permissions into separate lists
-        List<String> roles = new ArrayList<>();
-        List<String> permissions = new ArrayList<>();
+        if (userDetails instanceof CustomUserDetail) {
+            CustomUserDetail customUserDetail = (CustomUserDetail) userDetails;
+            if (customUserDetail.getUserId() != null) {
+                claims.append(",\"").append(USER_ID_CLAIM).append("\":").append(customUserDetail.getUserId());
+            }
+            claims.append(",\"").append(TOKEN_VERSION_CLAIM).append("\":").append(customUserDetail.getTokenVersion());
+        }
+
+        long now = System.currentTimeMillis();
+        return jwtCodec.encode(claims, userDetails.getUsername(), now, now + jwtExpiration);
+    }
 
-        userDetails.getAuthorities().forEach(authority -> {
+    /**
+     * Render the ROLES and PERMS claims once per distinct authority set. Role authorities are
+     * written by name, permissions as a single bitmask keyed by {@code Permission.id}.
+     */
+    private String authorityClaims(Collection<? extends GrantedAuthority> authorities) {
+        String cached = authorityClaims.get(authorities);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Split authorities into role names and permission bits
+        StringBuilder roles = new StringBuilder("\"ROLES\":[");
+        List<Long> permissionIds = new ArrayList<>();
+
+        for (GrantedAuthority authority : authorities) {
             String authorityName = authority.getAuthority();
-            if (authorityName.startsWith("ROLE_")) {
-                roles.add(authorityName.substring(5));
+            Long permissionId = permissionRegistry.idOf(authorityName);
+            if (permissionId != null) {
+                permissionIds.add(permissionId);
             } else {
-                permissions.add(authorityName);
+                // Claims keep the bare role name that clients match on; the prefix is restored on verification
+                appendArrayElement(roles, authorityName.startsWith(ROLE_PREFIX)
+                        ? authorityName.substring(ROLE_PREFIX.length()) : authorityName);
             }
-        });
-
-        claims.put("ROLES", roles);
-        claims.put("PERMISSIONS", permissions);
-
-        return createToken(claims, userDetails.getUsername());
+        }
+
+        String fragment = roles.append("],\"PERMS\":\"")
+                .append(PermissionSet.of(permissionIds).encode())
+                .append('"')
+                .toString();
+        if (authorityClaims.size() >= AUTHORITY_CLAIMS_MAX_SIZE) {
+            authorityClaims.clear();
+        }
+        authorityClaims.put(authorities, fragment);
+        return fragment;
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
-        Date now = new Date(System.currentTimeMillis());
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(SignatureAlgorithm.HS256, secretKey)
-                .compact();
+    private static void appendArrayElement(StringBuilder array, String value) {
+        if (array.charAt(array.length() - 1) != '[') {
+            array.append(',');
+        }
+        JwtCodec.appendJsonString(array, value);
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    public boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.getUsername().equals(userDetails.getUsername())
+                && !verifiedToken.isExpired(System.currentTimeMillis());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import com.example.SampleProject.exception.TooManyRequestsException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded pool for bcrypt work (login and signup).
+ * <p>
+ * Only the {@code encode}/{@code matches} calls run here; the rest of a request, database work
+ * included, stays on its servlet thread, which waits for its hash. A login storm can therefore use
+ * at most this pool's threads of CPU, and once its queue is full new requests are rejected
+ * immediately with 429 and a {@code Retry-After} hint instead of piling up behind bcrypt.
+ * <p>
+ * Bulk imports hash on a second, smaller pool so that a large upload cannot take the
+ * login pool's threads or queue. When the bulk queue is full the submitting thread hashes
+ * the password itself, which throttles the import to the speed of the pool.
+ */
+@Component
+public class PasswordHashingExecutor implements MetricsSource, DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAdder totalQueueNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder bulkCompleted = new LongAdder();
+
+    public PasswordHashingExecutor(@Value("${app.security.hashing.threads:0}") int threads,
+                                   @Value("${app.security.hashing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${app.security.hashing.retry-after:5}") long retryAfterSeconds,
+                                   @Value("${app.security.hashing.bulk-threads:0}") int bulkThreads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int bulkPoolSize = bulkThreads > 0 ? bulkThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.bulkExecutor = new ThreadPoolExecutor(
+                bulkPoolSize, bulkPoolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bulkPoolSize * 4),
+                new CustomizableThreadFactory("password-hashing-bulk-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * A password encoder whose {@code encode} and {@code matches} run on the pool
+     */
+    public PasswordEncoder pooled(PasswordEncoder passwordEncoder) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return PasswordHashingExecutor.this.encode(passwordEncoder, rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return PasswordHashingExecutor.this.matches(passwordEncoder, rawPassword, encodedPassword);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return passwordEncoder.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    /**
+     * Hash a password on the pool, waiting for the result.
+     *
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public String encode(PasswordEncoder passwordEncoder, CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a password on the pool, waiting for the result.
+     *
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public boolean matches(PasswordEncoder passwordEncoder, CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(Supplier<T> hash) {
+        long submittedAt = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> timed(hash, submittedAt), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException(
+                    "Too many concurrent authentication requests, please retry later", retryAfterSeconds);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hash many passwords in parallel on the bulk pool, blocking until all are done.
+     *
+     * @return the hashes, in the order of {@code rawPasswords}
+     */
+    public List<String> encodeAll(List<String> rawPasswords, PasswordEncoder passwordEncoder) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), bulkExecutor));
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            hashes.add(future.join());
+        }
+        bulkCompleted.add(hashes.size());
+        return hashes;
+    }
+
+    // Only the hash itself is timed; the wait in the queue is recorded separately
+    private <T> T timed(Supplier<T> hash, long submittedAt) {
+        long start = System.nanoTime();
+        totalQueueNanos.add(start - submittedAt);
+        try {
+            return hash.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            completed.increment();
+            totalHashNanos.add(elapsed);
+            maxHashNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "passwordHashing";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        long completedCount = completed.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("poolSize", executor.getMaximumPoolSize());
+        metrics.put("active", executor.getActiveCount());
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        metrics.put("completed", completedCount);
+        metrics.put("rejected", rejected.sum());
+        metrics.put("avgQueueWaitMs", completedCount == 0 ? 0 : totalQueueNanos.sum() / completedCount / 1_000_000.0);
+        metrics.put("avgLatencyMs", completedCount == 0 ? 0 : totalHashNanos.sum() / completedCount / 1_000_000.0);
+        metrics.put("maxLatencyMs", maxHashNanos.get() / 1_000_000.0);
+        metrics.put("bulkPoolSize", bulkExecutor.getMaximumPoolSize());
+        metrics.put("bulkActive", bulkExecutor.getActiveCount());
+        metrics.put("bulkQueueDepth", bulkExecutor.getQueue().size());
+        metrics.put("bulkCompleted", bulkCompleted.sum());
+        return metrics;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+}
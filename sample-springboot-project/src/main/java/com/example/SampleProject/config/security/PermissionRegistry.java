@@ -0,0 +1,93 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.model.Permission;
+import com.example.SampleProject.repository.PermissionRepository;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stable mapping between permission names and their bit in a {@link com.example.SampleProject.dto.PermissionSet}.
+ * The bit of a permission is its database id, so the mapping never changes for an existing permission;
+ * the catalogue is loaded lazily and re-read when an unknown permission shows up.
+ */
+@Component
+public class PermissionRegistry {
+
+    // Minimum delay between two reloads triggered by unknown permissions
+    private static final long RELOAD_INTERVAL_MILLIS = 5000;
+
+    private final PermissionRepository permissionRepository;
+
+    private volatile Catalogue catalogue;
+    private volatile long lastLoadedAt;
+
+    public PermissionRegistry(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    /**
+     * @return the bit of the permission, or {@code null} if no such permission exists
+     */
+    public Long idOf(String permissionName) {
+        Long id = catalogue().idsByName.get(permissionName);
+        if (id == null && reloadAllowed()) {
+            id = load().idsByName.get(permissionName);
+        }
+        return id;
+    }
+
+    /**
+     * @return the shared authority for the permission bit, or {@code null} if no such permission exists
+     */
+    public GrantedAuthority authorityOf(long permissionId) {
+        GrantedAuthority authority = catalogue().authoritiesById.get(permissionId);
+        if (authority == null && reloadAllowed()) {
+            authority = load().authoritiesById.get(permissionId);
+        }
+        return authority;
+    }
+
+    /**
+     * Re-read the permission catalogue, e.g. after permissions were added
+     */
+    public void refresh() {
+        load();
+    }
+
+    private synchronized Catalogue load() {
+        Map<String, Long> idsByName = new HashMap<>();
+        Map<Long, GrantedAuthority> authoritiesById = new HashMap<>();
+        for (Permission permission : permissionRepository.findAll()) {
+            idsByName.put(permission.getName(), permission.getId());
+            authoritiesById.put(permission.getId(), new SimpleGrantedAuthority(permission.getName()));
+        }
+        Catalogue loaded = new Catalogue(idsByName, authoritiesById);
+        catalogue = loaded;
+        lastLoadedAt = System.currentTimeMillis();
+        return loaded;
+    }
+
+    private Catalogue catalogue() {
+        Catalogue current = catalogue;
+        return current != null ? current : load();
+    }
+
+    private boolean reloadAllowed() {
+        return System.currentTimeMillis() - lastLoadedAt >= RELOAD_INTERVAL_MILLIS;
+    }
+
+    private static final class Catalogue {
+        private final Map<String, Long> idsByName;
+        private final Map<Long, GrantedAuthority> authoritiesById;
+
+        private Catalogue(Map<String, Long> idsByName, Map<Long, GrantedAuthority> authoritiesById) {
+            this.idsByName = Collections.unmodifiableMap(idsByName);
+            this.authoritiesById = Collections.unmodifiableMap(authoritiesById);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+import com.example.SampleProject.model.Permission;
+import com.example.SampleProject.model.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputes authorities once per role and once per distinct set of roles, so that users
+ * holding the same roles share one immutable authority collection and authentication does
+ * not allocate a fresh list of {@link SimpleGrantedAuthority} per request.
+ * All entries, including grants rebuilt from token claims, are dropped when
+ * {@link com.example.SampleProject.service.impl.RoleServiceImpl} changes a role or its permissions.
+ */
+@Component
+public class RoleAuthorityRegistry {
+
+    private static final int MAX_ENTRIES = 10000;
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final PermissionRegistry permissionRegistry;
+
+    private final Map<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+    private final Map<Long, AuthorityGrant> roleGrants = new ConcurrentHashMap<>();
+    private final Map<Set<Long>, AuthorityGrant> roleSetGrants = new ConcurrentHashMap<>();
+    private final Map<TokenGrantKey, AuthorityGrant> tokenGrants = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoleAuthorityRegistry(PermissionRegistry permissionRegistry) {
+        this.permissionRegistry = permissionRegistry;
+    }
+
+    /**
+     * Generation to pass to {@link #grantFor(Collection, long)} for roles that are about to be loaded
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Shared grant for a set of loaded roles. It is only remembered if no role changed
+     * since {@code loadedGeneration}, so a grant computed from stale roles is never reused.
+     */
+    public AuthorityGrant grantFor(Collection<Role> roles, long loadedGeneration) {
+        Set<Long> roleIds = new HashSet<>();
+        for (Role role : roles) {
+            roleIds.add(role.getId());
+        }
+
+        AuthorityGrant cached = roleSetGrants.get(roleIds);
+        if (cached != null) {
+            return cached;
+        }
+
+        Set<GrantedAuthority> merged = new LinkedHashSet<>();
+        List<Long> permissionIds = new ArrayList<>();
+        for (Role role : roles) {
+            AuthorityGrant roleGrant = roleGrant(role, loadedGeneration);
+            merged.addAll(roleGrant.getAuthorities());
+            roleGrant.getPermissions().forEach(permissionIds::add);
+        }
+
+        AuthorityGrant grant = new AuthorityGrant(
+                Collections.unmodifiableList(new ArrayList<>(merged)), PermissionSet.of(permissionIds));
+        remember(roleSetGrants, roleIds, grant, loadedGeneration);
+        return grant;
+    }
+
+    /**
+     * Shared grant for the role names and permission bits carried by a verified token
+     */
+    public AuthorityGrant grantFor(List<String> roleNames, PermissionSet permissions) {
+        TokenGrantKey key = new TokenGrantKey(roleNames, permissions);
+        AuthorityGrant cached = tokenGrants.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedGeneration = generation.get();
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+        for (String roleName : roleNames) {
+            grantedAuthorities.add(roleAuthority(roleName));
+        }
+        permissions.forEach(permissionId -> {
+            GrantedAuthority authority = permissionRegistry.authorityOf(permissionId);
+            if (authority != null) {
+                grantedAuthorities.add(authority);
+            }
+        });
+
+        AuthorityGrant grant = new AuthorityGrant(Collections.unmodifiableList(grantedAuthorities), permissions);
+        remember(tokenGrants, key, grant, loadedGeneration);
+        return grant;
+    }
+
+    /**
+     * Drop every cached grant once the current transaction commits
+     */
+    public void invalidate() {
+        Runnable action = () -> {
+            synchronized (this) {
+                generation.incrementAndGet();
+                roleGrants.clear();
+                roleSetGrants.clear();
+                tokenGrants.clear();
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private AuthorityGrant roleGrant(Role role, long loadedGeneration) {
+        AuthorityGrant cached = roleGrants.get(role.getId());
+        if (cached != null) {
+            return cached;
+        }
+
+        // The role itself is granted as ROLE_<name>, followed by each of its permissions
+        List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+        List<Long> permissionIds = new ArrayList<>();
+        grantedAuthorities.add(roleAuthority(role.getName()));
+        for (Permission permission : role.getPermissions()) {
+            grantedAuthorities.add(authority(permission.getName()));
+            permissionIds.add(permission.getId());
+        }
+
+        AuthorityGrant grant = new AuthorityGrant(
+                Collections.unmodifiableList(grantedAuthorities), PermissionSet.of(permissionIds));
+        remember(roleGrants, role.getId(), grant, loadedGeneration);
+        return grant;
+    }
+
+    /**
+     * hasRole checks expect the ROLE_ prefix; role names are stored without it
+     */
+    private GrantedAuthority roleAuthority(String roleName) {
+        return authority(roleName.startsWith(ROLE_PREFIX) ? roleName : ROLE_PREFIX + roleName);
+    }
+
+    private GrantedAuthority authority(String name) {
+        return authorities.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    private synchronized <K> void remember(Map<K, AuthorityGrant> grants, K key, AuthorityGrant grant, long loadedGeneration) {
+        if (generation.get() != loadedGeneration) {
+            return;
+        }
+        if (grants.size() >= MAX_ENTRIES) {
+            grants.clear();
+        }
+        grants.put(key, grant);
+    }
+
+    private static final class TokenGrantKey {
+        private final List<String> roleNames;
+        private final PermissionSet permissions;
+
+        private TokenGrantKey(List<String> roleNames, PermissionSet permissions) {
+            this.roleNames = roleNames;
+            this.permissions = permissions;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof TokenGrantKey)) {
+                return false;
+            }
+            TokenGrantKey that = (TokenGrantKey) other;
+            return roleNames.equals(that.roleNames) && permissions.equals(that.permissions);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * roleNames.hashCode() + permissions.hashCode();
+        }
+    }
+}
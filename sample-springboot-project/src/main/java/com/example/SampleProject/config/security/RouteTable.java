@@ -0,0 +1,250 @@
+package com.example.SampleProject.config.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Authorization rules compiled once at startup into a prefix trie over path segments.
+ * <p>
+ * Rules keep their declaration order: when several patterns match a request, the one declared first wins,
+ * exactly like a list of {@code antMatchers}. Supported patterns are literal segments, {@code *} for a single
+ * segment and a trailing {@code **} for any remainder (including none).
+ */
+public final class RouteTable implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Node root;
+    private final Rule fallback;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    private RouteTable(Node root, Rule fallback) {
+        this.root = root;
+        this.fallback = fallback;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Whether the request is matched by a {@code permitAll} rule, in which case no token processing is needed.
+     */
+    public boolean isPublic(HttpServletRequest request) {
+        return match(request).access == Access.PERMIT_ALL;
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Rule rule = match(context.getRequest());
+
+        switch (rule.access) {
+            case PERMIT_ALL:
+                return GRANTED;
+            case AUTHENTICATED:
+                return isAuthenticated(authentication.get()) ? GRANTED : DENIED;
+            default:
+                Authentication auth = authentication.get();
+                if (!isAuthenticated(auth)) {
+                    return DENIED;
+                }
+                for (GrantedAuthority authority : auth.getAuthorities()) {
+                    if (rule.authorities.contains(authority.getAuthority())) {
+                        return GRANTED;
+                    }
+                }
+                return DENIED;
+        }
+    }
+
+    Rule match(HttpServletRequest request) {
+        Rule best = matchFrom(root, requestPath(request), 0, request.getMethod());
+        return best != null ? best : fallback;
+    }
+
+    // Depth-first over literal and "*" branches; "**" rules are collected on every node passed
+    private Rule matchFrom(Node node, String path, int position, String method) {
+        Rule best = earliest(null, node.rest, method);
+        int length = path.length();
+
+        while (position < length && path.charAt(position) == '/') {
+            position++;
+        }
+        if (position >= length) {
+            boolean trailingSlash = length > 1 && path.charAt(length - 1) == '/';
+            return earliest(best, trailingSlash ? node.trailingSlash : node.terminal, method);
+        }
+
+        int end = path.indexOf('/', position);
+        if (end < 0) {
+            end = length;
+        }
+        if (node.anySegment != null) {
+            best = earliest(best, matchFrom(node.anySegment, path, end, method), method);
+        }
+        Node next = node.literals.get(path.substring(position, end));
+        return next != null ? earliest(best, matchFrom(next, path, end, method), method) : best;
+    }
+
+    private static Rule earliest(Rule current, List<Rule> candidates, String method) {
+        for (Rule candidate : candidates) {
+            if (current != null && current.order < candidate.order) {
+                break;
+            }
+            if (candidate.appliesTo(method)) {
+                return candidate;
+            }
+        }
+        return current;
+    }
+
+    private static Rule earliest(Rule current, Rule candidate, String method) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.order < current.order ? candidate : current;
+    }
+
+    private boolean isAuthenticated(Authentication authentication) {
+        return authentication != null
+                && authentication.isAuthenticated()
+                && !trustResolver.isAnonymous(authentication);
+    }
+
+    private static String requestPath(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        String path = pathInfo != null ? servletPath + pathInfo : servletPath;
+        return path.isEmpty() ? "/" : path;
+    }
+
+    private enum Access {
+        PERMIT_ALL, AUTHENTICATED, HAS_ANY_AUTHORITY
+    }
+
+    static final class Rule {
+        private final int order;
+        private final String method;
+        private final Access access;
+        private final Set<String> authorities;
+
+        private Rule(int order, String method, Access access, Set<String> authorities) {
+            this.order = order;
+            this.method = method;
+            this.access = access;
+            this.authorities = authorities;
+        }
+
+        private boolean appliesTo(String requestMethod) {
+            return method == null || method.equals(requestMethod);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node anySegment;
+        // Rules ending exactly here, ordered by declaration
+        private final List<Rule> terminal = new ArrayList<>();
+        private final List<Rule> trailingSlash = new ArrayList<>();
+        // Rules ending in "**" below this node, ordered by declaration
+        private final List<Rule> rest = new ArrayList<>();
+    }
+
+    public static final class Builder {
+
+        private final Node root = new Node();
+        private int order;
+
+        private Builder() {
+        }
+
+        public Builder permitAll(String... patterns) {
+            return add(null, patterns, Access.PERMIT_ALL, Collections.emptySet());
+        }
+
+        public Builder permitAll(HttpMethod method, String... patterns) {
+            return add(method, patterns, Access.PERMIT_ALL, Collections.emptySet());
+        }
+
+        public Builder hasAnyRole(HttpMethod method, String pattern, String... roles) {
+            Set<String> authorities = new LinkedHashSet<>();
+            for (String role : roles) {
+                authorities.add(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role);
+            }
+            return add(method, new String[]{pattern}, Access.HAS_ANY_AUTHORITY, Collections.unmodifiableSet(authorities));
+        }
+
+        public RouteTable anyRequestAuthenticated() {
+            return new RouteTable(root, new Rule(order, null, Access.AUTHENTICATED, Collections.emptySet()));
+        }
+
+        private Builder add(HttpMethod method, String[] patterns, Access access, Set<String> authorities) {
+            for (String pattern : patterns) {
+                Rule rule = new Rule(order++, method != null ? method.name() : null, access, authorities);
+                insert(pattern, rule);
+            }
+            return this;
+        }
+
+        private void insert(String pattern, Rule rule) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+            }
+
+            List<String> segments = new ArrayList<>();
+            for (String segment : pattern.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+
+            Node node = root;
+            for (int i = 0; i < segments.size(); i++) {
+                String segment = segments.get(i);
+                if ("**".equals(segment)) {
+                    if (i != segments.size() - 1) {
+                        throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                    }
+                    node.rest.add(rule);
+                    return;
+                }
+                if (segment.indexOf('*') >= 0 && !"*".equals(segment)) {
+                    throw new IllegalArgumentException("Partial wildcards are not supported: " + pattern);
+                }
+                if ("*".equals(segment)) {
+                    if (node.anySegment == null) {
+                        node.anySegment = new Node();
+                    }
+                    node = node.anySegment;
+                } else {
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+
+            if (pattern.length() > 1 && pattern.endsWith("/")) {
+                node.trailingSlash.add(rule);
+            } else {
+                node.terminal.add(rule);
+            }
+        }
+    }
+}
@@ -26,7 +26,8 @@ public class SecurityConfigure extends WebSecurityConfigurerAdapter {
     // FIXED: Updated public URLs to match your actual endpoints
     public static final String[] PUBLIC_URLS = {
             "/api/login",             // ✅ Correct endpoint from LoginController
-            "/api/signup",            // ✅ Correct endpoint from LoginController
+            "/api/token/refresh",     // Refresh token rotation
+            "/api/token/revoke",      // Logout / session revocation
             "/api/auth/register",     // Add if you have registration
             "/v3/api-docs/**",
             "/v2/api-docs/**",
@@ -52,10 +53,39 @@ public class SecurityConfigure extends WebSecurityConfigurerAdapter {
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @Autowired
+    private JwtAccessDeniedHandler jwtAccessDeniedHandler;
+
+    @Autowired
+    private RouteTable routeTable;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    /**
+     * Authorization rules, compiled once into a path trie. Static so that {@link JwtRequestFilter}
+     * can use it without depending on this configuration.
+     */
+    @Bean
+    public static RouteTable routeTable() {
+        return RouteTable.builder()
+                .permitAll(PUBLIC_URLS)  // ✅ Allow these without authentication
+                .permitAll(HttpMethod.OPTIONS, "/**")  // ✅ Allow preflight requests
+                // Signup is admin-only, so the JWT filter must run for it
+                .hasAnyRole(HttpMethod.POST, "/api/signup", "ADMIN")
+                .hasAnyRole(HttpMethod.GET, "/api/*/search", "USER", "ADMIN")
+                .hasAnyRole(HttpMethod.GET, "/api/**", "USER", "ADMIN")
+                .hasAnyRole(HttpMethod.POST, "/api/**", "ADMIN", "TEACHER")
+                .hasAnyRole(HttpMethod.PUT, "/api/**", "ADMIN", "TEACHER")
+                .hasAnyRole(HttpMethod.DELETE, "/api/**", "ADMIN")
+                .anyRequestAuthenticated();
+    }
+
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        // Password checks run on the bounded hashing pool, the user lookup stays on the request thread
         auth.userDetailsService(myUserDetailsService)
-                .passwordEncoder(passwordEncoder());
+                .passwordEncoder(passwordHashingExecutor.pooled(passwordEncoder()));
     }
 
     @Override
@@ -68,21 +98,15 @@ public class SecurityConfigure extends WebSecurityConfigurerAdapter {
                 // Disable CSRF for stateless API
                 .csrf().disable()
 
-                // Configure authorization
-                .authorizeRequests()
-                .antMatchers(PUBLIC_URLS).permitAll()  // ✅ Allow these without authentication
-                .antMatchers(HttpMethod.OPTIONS, "/**").permitAll()  // ✅ Allow preflight requests
-                .antMatchers(HttpMethod.GET, "/api/*/search").hasAnyRole("USER", "ADMIN")
-                .antMatchers(HttpMethod.GET, "/api/**").hasAnyRole("USER", "ADMIN")
-                .antMatchers(HttpMethod.POST, "/api/**").hasAnyRole("ADMIN", "TEACHER")
-                .antMatchers(HttpMethod.PUT, "/api/**").hasAnyRole("ADMIN", "TEACHER")
-                .antMatchers(HttpMethod.DELETE, "/api/**").hasRole("ADMIN")
-                .anyRequest().authenticated()
+                // Configure authorization from the compiled route table
+                .authorizeHttpRequests()
+                .anyRequest().access(routeTable)
                 .and()
 
                 // Configure exception handling
                 .exceptionHandling()
                 .authenticationEntryPoint(jwtAuthenticationEntryPoint)
+                .accessDeniedHandler(jwtAccessDeniedHandler)
                 .and()
 
                 // Stateless session management
@@ -0,0 +1,140 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.repository.UserRepository;
+import com.example.SampleProject.service.impl.UserDetailsCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the current token version of recently seen users so that claims-based
+ * authentication can reject revoked tokens without loading the full user graph.
+ * Entries are re-read after {@code jwt.token-version-ttl} so that other nodes'
+ * revocations are picked up as well. Revocation also drops the affected snapshots
+ * from {@link UserDetailsCache}, since they carry the old version and authorities.
+ * The map is an LRU bounded by {@code jwt.token-version-cache-size}, and versions read
+ * before a revocation committed are never stored.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final long ttlMillis;
+    private final Map<String, CachedVersion> versions;
+    private final AtomicLong generation = new AtomicLong();
+
+    public TokenVersionRegistry(UserRepository userRepository,
+                                UserDetailsCache userDetailsCache,
+                                @Value("${jwt.token-version-ttl:30000}") long ttlMillis,
+                                @Value("${jwt.token-version-cache-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.ttlMillis = ttlMillis;
+        this.versions = new LinkedHashMap<String, CachedVersion>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedVersion> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the current token version of the user, or {@code null} if the user does not exist
+     */
+    public Long currentVersion(String username) {
+        long now = System.currentTimeMillis();
+        long loadedGeneration;
+        synchronized (versions) {
+            CachedVersion cached = versions.get(username);
+            if (cached != null && now - cached.loadedAt < ttlMillis) {
+                return cached.version;
+            }
+            loadedGeneration = generation.get();
+        }
+
+        Long version = userRepository.findTokenVersionByName(username).orElse(null);
+        synchronized (versions) {
+            if (version == null) {
+                versions.remove(username);
+            } else if (generation.get() == loadedGeneration) {
+                versions.put(username, new CachedVersion(version, now));
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Revoke every token issued to the given user
+     */
+    @Transactional
+    public void revokeUser(String username) {
+        userRepository.incrementTokenVersion(username);
+        userDetailsCache.invalidate(username);
+        afterCommit(() -> invalidate(username));
+    }
+
+    /**
+     * Revoke every token issued to holders of the given role
+     */
+    @Transactional
+    public void revokeRoleHolders(Long roleId) {
+        userRepository.incrementTokenVersionForRole(roleId);
+        userDetailsCache.invalidateAll();
+        afterCommit(this::invalidateAll);
+    }
+
+    /**
+     * Revoke every token issued to holders of any of the given roles, in one statement
+     */
+    @Transactional
+    public void revokeRoleHolders(Collection<Long> roleIds) {
+        userRepository.incrementTokenVersionForRoles(roleIds);
+        userDetailsCache.invalidateAll();
+        afterCommit(this::invalidateAll);
+    }
+
+    private void invalidate(String username) {
+        synchronized (versions) {
+            generation.incrementAndGet();
+            versions.remove(username);
+        }
+    }
+
+    private void invalidateAll() {
+        synchronized (versions) {
+            generation.incrementAndGet();
+            versions.clear();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class CachedVersion {
+        private final long version;
+        private final long loadedAt;
+
+        private CachedVersion(long version, long loadedAt) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified by {@link JwtUtil#verify}.
+ * Instances are shared between requests presenting the same token, so they must never be mutated.
+ */
+public final class VerifiedToken {
+
+    private final String username;
+    private final Long userId;
+    private final long tokenVersion;
+    private final long expiresAt;
+    private final List<String> roles;
+    private final PermissionSet permissions;
+
+    VerifiedToken(String username, Long userId, long tokenVersion, long expiresAt,
+                  List<String> roles, PermissionSet permissions) {
+        this.username = username;
+        this.userId = userId;
+        this.tokenVersion = tokenVersion;
+        this.expiresAt = expiresAt;
+        this.roles = Collections.unmodifiableList(roles);
+        this.permissions = permissions;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * Expiration time in epoch milliseconds
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public PermissionSet getPermissions() {
+        return permissions;
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+}
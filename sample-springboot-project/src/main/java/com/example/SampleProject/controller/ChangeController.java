@@ -0,0 +1,28 @@
+package com.example.SampleProject.controller;
+
+import com.example.SampleProject.dto.ChangeFeedPage;
+import com.example.SampleProject.service.ChangeFeedService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class ChangeController {
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ChangeFeedPage> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                     @RequestParam(required = false) Integer limit) {
+        ChangeFeedPage page = changeFeedService.getChanges(since, limit);
+        return ResponseEntity.ok(page);
+    }
+}
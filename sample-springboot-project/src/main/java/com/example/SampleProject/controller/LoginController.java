@@ -2,8 +2,12 @@ package com.example.SampleProject.controller;
 
 import com.example.SampleProject.config.security.JwtUtil;
 import com.example.SampleProject.dto.AuthenticationResponse;
+import com.example.SampleProject.dto.IssuedRefreshToken;
 import com.example.SampleProject.dto.LoginCredentials;
+import com.example.SampleProject.dto.TokenRefreshRequest;
 import com.example.SampleProject.dto.UserDto;
+import com.example.SampleProject.exception.TooManyRequestsException;
+import com.example.SampleProject.service.RefreshTokenService;
 import com.example.SampleProject.service.UserService;
 import com.example.SampleProject.service.impl.MyUserDetailServiceImplementation;
 import io.swagger.annotations.*;
@@ -12,6 +16,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -19,6 +25,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api")
@@ -27,17 +35,20 @@ public class LoginController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final MyUserDetailServiceImplementation myUserDetailService;
     private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
+    private final MyUserDetailServiceImplementation myUserDetailService;
 
     public LoginController(AuthenticationManager authenticationManager,
                            JwtUtil jwtUtil,
-                           MyUserDetailServiceImplementation myUserDetailService,
-                           UserService userService) {
+                           UserService userService,
+                           RefreshTokenService refreshTokenService,
+                           MyUserDetailServiceImplementation myUserDetailService) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
-        this.myUserDetailService = myUserDetailService;
         this.userService = userService;
+        this.refreshTokenService = refreshTokenService;
+        this.myUserDetailService = myUserDetailService;
     }
 
     @PostMapping("/login")
@@ -50,26 +61,75 @@ public class LoginController {
             @ApiResponse(code = 200, message = "Successfully authenticated", response = AuthenticationResponse.class),
             @ApiResponse(code = 400, message = "Invalid input"),
             @ApiResponse(code = 401, message = "Authentication failed - incorrect credentials"),
+            @ApiResponse(code = 429, message = "Too many concurrent logins - retry later"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     public ResponseEntity<?> createAuthenticationToken(
             @ApiParam(value = "Login credentials", required = true)
-            @Valid @RequestBody LoginCredentials loginCredentials) throws Exception {
+            @Valid @RequestBody LoginCredentials loginCredentials) {
+        // The password check inside authenticate runs on the bounded hashing pool
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginCredentials.getName(),
                             loginCredentials.getPassword()
                     )
             );
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             throw new BadCredentialsException("Incorrect Username or Password! ", e);
         }
 
-        UserDetails userDetails = myUserDetailService.loadUserByUsername(loginCredentials.getName());
+        // The provider already loaded the user to check the password; issue the token from that principal
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        String jwtToken = jwtUtil.generateToken(userDetails);
+        IssuedRefreshToken refreshToken = refreshTokenService.issue(userDetails.getUsername());
+
+        return ResponseEntity.ok(new AuthenticationResponse(
+                jwtToken, refreshToken.getToken(), jwtUtil.getExpiration(), authorityNames(userDetails)));
+    }
+
+    @PostMapping("/token/refresh")
+    @ApiOperation(
+            value = "Refresh access token",
+            notes = "Exchange a refresh token for a new access token and a rotated refresh token",
+            response = AuthenticationResponse.class
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Token pair issued", response = AuthenticationResponse.class),
+            @ApiResponse(code = 400, message = "Invalid input"),
+            @ApiResponse(code = 401, message = "Refresh token unknown, expired or already used"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    public ResponseEntity<AuthenticationResponse> refreshToken(
+            @ApiParam(value = "Refresh token", required = true)
+            @Valid @RequestBody TokenRefreshRequest tokenRefreshRequest) {
+        IssuedRefreshToken refreshToken = refreshTokenService.rotate(tokenRefreshRequest.getRefreshToken());
+
+        UserDetails userDetails = myUserDetailService.loadUserByUsername(refreshToken.getUsername());
         String jwtToken = jwtUtil.generateToken(userDetails);
 
-        return ResponseEntity.ok(new AuthenticationResponse(jwtToken));
+        return ResponseEntity.ok(new AuthenticationResponse(
+                jwtToken, refreshToken.getToken(), jwtUtil.getExpiration(), authorityNames(userDetails)));
+    }
+
+    @PostMapping("/token/revoke")
+    @ApiOperation(
+            value = "Revoke session",
+            notes = "Revoke the refresh token and every token rotated from the same login"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Session revoked"),
+            @ApiResponse(code = 400, message = "Invalid input"),
+            @ApiResponse(code = 500, message = "Internal server error")
+    })
+    public ResponseEntity<?> revokeToken(
+            @ApiParam(value = "Refresh token", required = true)
+            @Valid @RequestBody TokenRefreshRequest tokenRefreshRequest) {
+        refreshTokenService.revoke(tokenRefreshRequest.getRefreshToken());
+        return ResponseEntity.ok("Session revoked successfully.");
     }
 
     @PostMapping("/signup")
@@ -84,6 +144,7 @@ public class LoginController {
             @ApiResponse(code = 400, message = "Invalid input"),
             @ApiResponse(code = 403, message = "Access denied - Admin role required"),
             @ApiResponse(code = 409, message = "User already exists"),
+            @ApiResponse(code = 429, message = "Too many concurrent registrations - retry later"),
             @ApiResponse(code = 500, message = "Internal server error")
     })
     public ResponseEntity<?> signup(
@@ -92,4 +153,10 @@ public class LoginController {
         userService.registerUser(userdto);
         return ResponseEntity.ok("User registered successfully.");
     }
+
+    private List<String> authorityNames(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.SampleProject.controller;
 
+import com.example.SampleProject.dto.CursorPage;
 import com.example.SampleProject.dto.PermissionDto;
 import com.example.SampleProject.service.PermissionService;
 import org.springframework.http.ResponseEntity;
@@ -7,9 +8,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -22,14 +23,33 @@ public class PermissionController {
 
     @GetMapping("/permission")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<List<PermissionDto>> getAllPermission() {
-        List<PermissionDto> permissionDtoList = permissionService.getAll();
-        return ResponseEntity.ok(permissionDtoList);
+    public ResponseEntity<CursorPage<PermissionDto>> getAllPermission(@RequestParam(required = false) String cursor,
+                                                                      @RequestParam(required = false) Integer size,
+                                                                      @RequestParam(required = false) String sort,
+                                                                      WebRequest request) {
+        // Answered from the collection version alone, before any page is read
+        if (request.checkNotModified(permissionService.getCollectionETag())) {
+            return null;
+        }
+        CursorPage<PermissionDto> page = permissionService.getPage(cursor, size, sort);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/permission/search")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<CursorPage<PermissionDto>> searchPermissions(@RequestParam("q") String query,
+                                                                       @RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer size) {
+        CursorPage<PermissionDto> page = permissionService.search(query, cursor, size);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/permission/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<PermissionDto> getPermissionById(@PathVariable Long id) {
+    public ResponseEntity<PermissionDto> getPermissionById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(permissionService.getETag(id))) {
+            return null;
+        }
         PermissionDto permissionDto = permissionService.findById(id);
         return ResponseEntity.ok(permissionDto);
     }
@@ -1,12 +1,17 @@
 package com.example.SampleProject.controller;
 
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.dto.PermissionMatrixDto;
+import com.example.SampleProject.dto.PermissionMatrixResult;
 import com.example.SampleProject.dto.RoleDto;
 import com.example.SampleProject.service.RoleService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import javax.validation.Valid;
 
 @RestController
 @RequestMapping("/api")
@@ -25,22 +30,40 @@ public class RoleController {
 
     @GetMapping("/role")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<List<RoleDto>> getAllRole() {
-        List<RoleDto> roleDtoList = roleService.getAll();
-        return ResponseEntity.ok(roleDtoList);
+    public ResponseEntity<CursorPage<RoleDto>> getAllRole(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size,
+                                                          @RequestParam(required = false) String sort,
+                                                          WebRequest request) {
+        // Answered from the collection version alone, before any page is read
+        if (request.checkNotModified(roleService.getCollectionETag())) {
+            return null;
+        }
+        CursorPage<RoleDto> page = roleService.getPage(cursor, size, sort);
+        return ResponseEntity.ok(page);
     }
 
     @GetMapping("/role/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<RoleDto> getRoleById(@PathVariable Long id) {
+    public ResponseEntity<RoleDto> getRoleById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(roleService.getETag(id))) {
+            return null;
+        }
         RoleDto roleDto = roleService.findById(id);
         return ResponseEntity.ok(roleDto);
     }
 
+    @PutMapping("/role/permissions-matrix")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<PermissionMatrixResult> applyPermissionMatrix(@Valid @RequestBody PermissionMatrixDto matrix) {
+        PermissionMatrixResult result = roleService.applyPermissionMatrix(matrix);
+        return ResponseEntity.ok(result);
+    }
+
     @PutMapping("/role/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<RoleDto> updateRole(@PathVariable Long id, @RequestBody RoleDto roleDto) {
-        RoleDto updatedRoleDto = roleService.updateRole(id, roleDto);
+    public ResponseEntity<RoleDto> updateRole(@PathVariable Long id, @RequestBody RoleDto roleDto,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RoleDto updatedRoleDto = roleService.updateRole(id, roleDto, ifMatch);
         return ResponseEntity.ok(updatedRoleDto);
     }
 }
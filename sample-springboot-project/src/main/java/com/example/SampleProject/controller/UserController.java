@@ -1,15 +1,26 @@
 package com.example.SampleProject.controller;
 
+import com.example.SampleProject.dto.BulkImportReport;
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.dto.ExportFormat;
 import com.example.SampleProject.dto.UserDto;
 import com.example.SampleProject.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
-import java.util.List;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api")
@@ -22,15 +33,68 @@ public class UserController {
 
     @GetMapping("/user")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<UserDto> userDtoList = userService.getAll();
-        return ResponseEntity.ok(userDtoList);
+    public ResponseEntity<CursorPage<UserDto>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size,
+                                                           @RequestParam(required = false) String sort,
+                                                           WebRequest request) {
+        // Answered from the collection version alone, before any page is read
+        if (request.checkNotModified(userService.getCollectionETag())) {
+            return null;
+        }
+        CursorPage<UserDto> page = userService.getPage(cursor, size, sort);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/user/search")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<CursorPage<UserDto>> searchUsers(@RequestParam("q") String query,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size) {
+        CursorPage<UserDto> page = userService.search(query, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/user/export")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"users." + exportFormat.getExtension() + "\"");
+        // Rows are written to the response as they are read from the database
+        userService.exportUsers(exportFormat, response.getOutputStream());
+    }
+
+    @PostMapping(value = "/user/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<BulkImportReport> importUsers(@RequestParam("file") MultipartFile file,
+                                                        @RequestParam(required = false) String format) throws IOException {
+        ExportFormat importFormat = format != null
+                ? ExportFormat.parse(format)
+                : ExportFormat.fromFilename(file.getOriginalFilename());
+        // The upload is read row by row; invalid rows are reported rather than failing the request
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(userService.importUsers(importFormat, inputStream));
+        }
     }
 
     @GetMapping("/user/{id}")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserDto> getUserById(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(userService.getETag(id))) {
+            return null;
+        }
         UserDto userDto = userService.findById(id);
         return ResponseEntity.ok(userDto);
     }
+
+    @PostMapping("/user/{id}/revoke-sessions")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> revokeSessions(@PathVariable Long id) {
+        // Ends every login of the user, e.g. after a password reset or a lost device
+        userService.revokeSessions(id);
+        return ResponseEntity.ok("Sessions revoked successfully.");
+    }
 }
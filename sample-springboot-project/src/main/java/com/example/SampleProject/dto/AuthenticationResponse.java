@@ -4,6 +4,8 @@ import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Getter;
 
+import java.util.List;
+
 @Getter
 @ApiModel(description = "Authentication response containing JWT token")
 public class AuthenticationResponse {
@@ -15,6 +17,13 @@ public class AuthenticationResponse {
     )
     private final String jwt;
 
+    @ApiModelProperty(
+            value = "Refresh token, exchanged at /api/token/refresh for a new token pair",
+            example = "q3v0H3pZ0f2m5kqJ8nX1aB7cD9eF4gH6iJ2kL5mN8oP",
+            required = true
+    )
+    private final String refreshToken;
+
     @ApiModelProperty(
             value = "Token type",
             example = "Bearer",
@@ -23,13 +32,22 @@ public class AuthenticationResponse {
     private final String tokenType = "Bearer";
 
     @ApiModelProperty(
-            value = "Token expiration time in milliseconds",
-            example = "86400000",
+            value = "Access token expiration time in milliseconds",
+            example = "900000",
             required = true
     )
-    private final long expiresIn = 86400000; // 24 hours
+    private final long expiresIn;
+
+    @ApiModelProperty(
+            value = "Role and permission names granted to the user (the token only carries a permission bitmask)",
+            example = "[\"ADMIN\", \"USER_READ\"]"
+    )
+    private final List<String> authorities;
 
-    public AuthenticationResponse(String jwt) {
+    public AuthenticationResponse(String jwt, String refreshToken, long expiresIn, List<String> authorities) {
         this.jwt = jwt;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+        this.authorities = authorities;
     }
-}
\ No newline at end of file
+}
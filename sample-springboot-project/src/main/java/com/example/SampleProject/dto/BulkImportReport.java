@@ -0,0 +1,67 @@
+package com.example.SampleProject.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@ApiModel(description = "Outcome of a bulk user import, one result per uploaded row")
+public class BulkImportReport {
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE, FAILED
+    }
+
+    @ApiModelProperty(value = "Number of rows read from the upload", example = "1000")
+    private int total;
+
+    @ApiModelProperty(value = "Number of users created", example = "990")
+    private int created;
+
+    @ApiModelProperty(value = "Rows rejected as invalid or duplicate", example = "8")
+    private int rejected;
+
+    @ApiModelProperty(value = "Valid rows that could not be written", example = "2")
+    private int failed;
+
+    @ApiModelProperty(value = "Per-row results in upload order")
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void add(int row, String name, Status status, String message) {
+        total++;
+        if (status == Status.CREATED) {
+            created++;
+        } else if (status == Status.FAILED) {
+            failed++;
+        } else {
+            rejected++;
+        }
+        rows.add(new RowResult(row, name, status, message));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class RowResult {
+
+        @ApiModelProperty(value = "1-based row number, not counting the CSV header", example = "1")
+        private int row;
+
+        @ApiModelProperty(value = "User name of the row, if it could be read", example = "john.doe")
+        private String name;
+
+        @ApiModelProperty(value = "Result of the row", example = "CREATED")
+        private Status status;
+
+        @ApiModelProperty(value = "Why the row was not created")
+        private String message;
+    }
+}
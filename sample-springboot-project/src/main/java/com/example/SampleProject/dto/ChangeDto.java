@@ -0,0 +1,27 @@
+package com.example.SampleProject.dto;
+
+import com.example.SampleProject.model.ChangeLogEntry;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "One change of the feed; fetch the resource by id for its current state")
+public class ChangeDto {
+
+    @ApiModelProperty(value = "Sequence number of the change", example = "1042")
+    private long seq;
+
+    @ApiModelProperty(value = "Kind of the changed resource", example = "USER")
+    private ChangeLogEntry.EntityType type;
+
+    @ApiModelProperty(value = "Id of the changed resource", example = "7")
+    private long id;
+
+    @ApiModelProperty(value = "What happened to the resource", example = "CREATE")
+    private ChangeLogEntry.Operation op;
+}
@@ -0,0 +1,25 @@
+package com.example.SampleProject.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Changes after a sequence number, oldest first")
+public class ChangeFeedPage {
+
+    @ApiModelProperty(value = "Changes of this page, in sequence order")
+    private List<ChangeDto> changes;
+
+    @ApiModelProperty(value = "Sequence number to pass as 'since' on the next request", example = "1042")
+    private long next;
+
+    @ApiModelProperty(value = "Whether more changes are available right away", example = "false")
+    private boolean more;
+}
@@ -0,0 +1,25 @@
+package com.example.SampleProject.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "One page of a keyset-paginated listing")
+public class CursorPage<T> {
+
+    @ApiModelProperty(value = "Items of this page, in the requested sort order")
+    private List<T> items;
+
+    @ApiModelProperty(value = "Opaque cursor for the next page, absent on the last page", example = "aToyMA")
+    private String next;
+
+    @ApiModelProperty(value = "Requested page size", example = "20")
+    private int size;
+}
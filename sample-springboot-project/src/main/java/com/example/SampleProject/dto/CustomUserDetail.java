@@ -1,5 +1,6 @@
 package com.example.SampleProject.dto;
 
+import com.example.SampleProject.model.Permission;
 import com.example.SampleProject.model.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -7,23 +8,59 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Immutable snapshot of an authenticated user. Authorities are computed once when the
+ * snapshot is built, so repeated calls from Spring Security do not walk the role graph again,
+ * and effective permissions are also kept as a bitmask for O(1) checks.
+ */
 public class CustomUserDetail implements UserDetails {
 
-    private final User user;
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final long tokenVersion;
+    private final List<GrantedAuthority> authorities;
+    private final PermissionSet permissions;
 
     public CustomUserDetail(User user) {
-        this.user = user;
+        this(user.getId(), user.getName(), user.getPassword(),
+                user.getTokenVersion() != null ? user.getTokenVersion() : 0L,
+                Collections.unmodifiableList(toAuthorities(user)), toPermissionSet(user));
     }
 
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> authorityList = new ArrayList<>();
+    /**
+     * @param authorities an unmodifiable list, typically shared between users holding the same roles
+     */
+    public CustomUserDetail(Long userId, String username, String password, long tokenVersion,
+                            List<GrantedAuthority> authorities, PermissionSet permissions) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.tokenVersion = tokenVersion;
+        this.authorities = authorities;
+        this.permissions = permissions;
+    }
+
+    private static PermissionSet toPermissionSet(User user) {
+        List<Long> permissionIds = new ArrayList<>();
+        user.getRoles().forEach(role -> {
+            for (Permission permission : role.getPermissions()) {
+                permissionIds.add(permission.getId());
+            }
+        });
+        return PermissionSet.of(permissionIds);
+    }
+
+    private static List<GrantedAuthority> toAuthorities(User user) {
+        List<GrantedAuthority> authorityList = new ArrayList<>();
 
         // Add roles with the "ROLE_" prefix
-        this.user.getRoles().forEach(role -> {
-            authorityList.add(new SimpleGrantedAuthority(role.getName()));
+        user.getRoles().forEach(role -> {
+            String roleName = role.getName();
+            authorityList.add(new SimpleGrantedAuthority(roleName.startsWith("ROLE_") ? roleName : "ROLE_" + roleName));
 
             // Add permissions without the prefix
             role.getPermissions().forEach(permission -> {
@@ -34,18 +71,30 @@ public class CustomUserDetail implements UserDetails {
         return authorityList;
     }
 
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 
     public Long getUserId(){
-        return this.user.getId();
+        return this.userId;
+    }
+
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public PermissionSet getPermissions() {
+        return permissions;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
-    public String getUsername() {return user.getName();}
+    public String getUsername() {return username;}
 
     @Override
     public boolean isAccountNonExpired() {
@@ -0,0 +1,51 @@
+package com.example.SampleProject.dto;
+
+import com.example.SampleProject.exception.ValidationException;
+
+import java.util.Collections;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat parse(String format) {
+        for (ExportFormat exportFormat : values()) {
+            if (exportFormat.extension.equalsIgnoreCase(format)) {
+                return exportFormat;
+            }
+        }
+        throw new ValidationException("Invalid export format",
+                Collections.singletonMap("format", "Supported values are 'ndjson' and 'csv'"));
+    }
+
+    /**
+     * Format of an uploaded file from its extension, NDJSON when there is none or it is unknown.
+     */
+    public static ExportFormat fromFilename(String filename) {
+        if (filename != null) {
+            int dot = filename.lastIndexOf('.');
+            for (ExportFormat exportFormat : values()) {
+                if (dot >= 0 && exportFormat.extension.equalsIgnoreCase(filename.substring(dot + 1))) {
+                    return exportFormat;
+                }
+            }
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.SampleProject.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A freshly issued refresh token together with the user it belongs to.
+ * The raw token value is only ever available here; the store keeps a digest.
+ */
+@Getter
+@AllArgsConstructor
+public class IssuedRefreshToken {
+    private final String username;
+    private final String token;
+}
@@ -0,0 +1,26 @@
+package com.example.SampleProject.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Complete permission sets for a group of roles")
+public class PermissionMatrixDto {
+
+    @ApiModelProperty(
+            value = "Permission ids granted to each role, keyed by role id. Roles not listed are left unchanged.",
+            example = "{\"1\": [1, 2, 3], \"2\": [1]}",
+            required = true
+    )
+    @NotEmpty(message = "At least one role is required")
+    private Map<Long, Set<Long>> grants;
+}
@@ -0,0 +1,23 @@
+package com.example.SampleProject.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Changes made by applying a permission matrix")
+public class PermissionMatrixResult {
+
+    @ApiModelProperty(value = "Roles whose permissions changed", example = "2")
+    private int rolesChanged;
+
+    @ApiModelProperty(value = "Role-permission grants added", example = "5")
+    private int granted;
+
+    @ApiModelProperty(value = "Role-permission grants removed", example = "3")
+    private int revoked;
+}
@@ -0,0 +1,81 @@
+package com.example.SampleProject.dto;
+
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.function.LongConsumer;
+
+/**
+ * Immutable set of permission ids stored as a bitmask, bit {@code n} standing for
+ * the permission whose {@code Permission.id} is {@code n}. Membership tests are O(1)
+ * and the whole set serialises to a few base64url characters for the JWT.
+ */
+public final class PermissionSet {
+
+    public static final PermissionSet EMPTY = new PermissionSet(new BitSet());
+
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder URL_DECODER = Base64.getUrlDecoder();
+
+    private final BitSet bits;
+
+    private PermissionSet(BitSet bits) {
+        this.bits = bits;
+    }
+
+    public static PermissionSet of(Iterable<Long> permissionIds) {
+        BitSet bits = new BitSet();
+        for (Long permissionId : permissionIds) {
+            if (permissionId != null) {
+                bits.set(Math.toIntExact(permissionId));
+            }
+        }
+        return bits.isEmpty() ? EMPTY : new PermissionSet(bits);
+    }
+
+    /**
+     * Read a set written by {@link #encode()}
+     *
+     * @throws IllegalArgumentException if the value is not valid base64url
+     */
+    public static PermissionSet decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return EMPTY;
+        }
+        return new PermissionSet(BitSet.valueOf(URL_DECODER.decode(encoded)));
+    }
+
+    public boolean contains(long permissionId) {
+        return permissionId >= 0 && permissionId <= Integer.MAX_VALUE && bits.get((int) permissionId);
+    }
+
+    public boolean isEmpty() {
+        return bits.isEmpty();
+    }
+
+    public int size() {
+        return bits.cardinality();
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int bit = bits.nextSetBit(0); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            action.accept(bit);
+        }
+    }
+
+    /**
+     * Little-endian bitmask as unpadded base64url
+     */
+    public String encode() {
+        return URL_ENCODER.encodeToString(bits.toByteArray());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof PermissionSet && bits.equals(((PermissionSet) other).bits));
+    }
+
+    @Override
+    public int hashCode() {
+        return bits.hashCode();
+    }
+}
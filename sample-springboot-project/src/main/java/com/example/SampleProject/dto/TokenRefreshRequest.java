@@ -0,0 +1,24 @@
+package com.example.SampleProject.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ApiModel(description = "Refresh token presented to obtain a new access token")
+public class TokenRefreshRequest {
+
+    @ApiModelProperty(
+            value = "Refresh token returned by the last login or refresh",
+            example = "q3v0H3pZ0f2m5kqJ8nX1aB7cD9eF4gH6iJ2kL5mN8oP",
+            required = true
+    )
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
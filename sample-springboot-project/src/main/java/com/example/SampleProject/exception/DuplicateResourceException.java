@@ -13,7 +13,7 @@ public class DuplicateResourceException extends RuntimeException {
     private final String errorCode;
 
     public DuplicateResourceException(String message) {
-        super(message);
+        super(message, null, false, false);
         this.resourceName = null;
         this.fieldName = null;
         this.fieldValue = null;
@@ -21,7 +21,7 @@ public class DuplicateResourceException extends RuntimeException {
     }
 
     public DuplicateResourceException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s already exists with %s: %s", resourceName, fieldName, fieldValue));
+        super(String.format("%s already exists with %s: %s", resourceName, fieldName, fieldValue), null, false, false);
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
@@ -0,0 +1,100 @@
+package com.example.SampleProject.exception;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per error code log throttle for {@link GlobalExceptionHandler} and the security filters. The first
+ * occurrence of a code is logged, after that at most one line per interval, carrying the number of
+ * occurrences suppressed since the previous line. Total counts per code are published through
+ * {@code /api/metrics}.
+ */
+@Component
+public class ErrorLogLimiter implements MetricsSource {
+
+    private static final int MAX_CODES = 1024;
+    private static final String OVERFLOW_CODE = "OTHER";
+
+    private final long intervalMillis;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ErrorLogLimiter(@Value("${app.logging.error-log-interval:10000}") long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Record an occurrence of {@code errorCode}.
+     *
+     * @return {@code -1} if the occurrence should not be logged, otherwise the number of
+     * occurrences suppressed since the last logged one
+     */
+    public long tryAcquire(String errorCode) {
+        Counter counter = counterFor(errorCode);
+        counter.total.increment();
+
+        long now = System.currentTimeMillis();
+        long next = counter.nextLogAt.get();
+        if (now < next || !counter.nextLogAt.compareAndSet(next, now + intervalMillis)) {
+            counter.suppressed.increment();
+            return -1;
+        }
+        return counter.suppressed.sumThenReset();
+    }
+
+    public void warn(Logger logger, String errorCode, String format, Object argument) {
+        long suppressed = tryAcquire(errorCode);
+        if (suppressed == 0) {
+            logger.warn(format, argument);
+        } else if (suppressed > 0) {
+            logger.warn(format + " ({} similar suppressed)", argument, suppressed);
+        }
+    }
+
+    public void error(Logger logger, String errorCode, String format, Throwable ex) {
+        long suppressed = tryAcquire(errorCode);
+        if (suppressed == 0) {
+            logger.error(format, ex.getMessage(), ex);
+        } else if (suppressed > 0) {
+            logger.error(format + " ({} similar suppressed)", ex.getMessage(), suppressed, ex);
+        }
+    }
+
+    private Counter counterFor(String errorCode) {
+        String code = errorCode != null ? errorCode : OVERFLOW_CODE;
+        Counter counter = counters.get(code);
+        if (counter != null) {
+            return counter;
+        }
+        // Error codes are a small fixed vocabulary; cap the map in case a caller passes free text
+        if (counters.size() >= MAX_CODES) {
+            return counters.computeIfAbsent(OVERFLOW_CODE, key -> new Counter());
+        }
+        return counters.computeIfAbsent(code, key -> new Counter());
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "errors";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new TreeMap<>();
+        counters.forEach((code, counter) -> metrics.put(code, counter.total.sum()));
+        return metrics;
+    }
+
+    private static final class Counter {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder suppressed = new LongAdder();
+        private final AtomicLong nextLogAt = new AtomicLong();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.SampleProject.exception;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Writes error bodies straight to the servlet response for code running outside Spring MVC
+ * (security filters and entry points), where {@link GlobalExceptionHandler} does not apply.
+ * <p>
+ * Field names are encoded once, and bodies with a fixed message can be serialised up front with
+ * {@link #staticBody(int, String)} so that rejecting a request only copies bytes. Bodies that must
+ * also carry the request {@code timestamp} and {@code path} keep a pre-serialised prefix from
+ * {@link #staticPrefix} and append those two fields per request.
+ */
+@Component
+public class ErrorResponseWriter {
+
+    private static final JsonFactory STATIC_FACTORY = new JsonFactory();
+
+    private static final SerializedString SUCCESS = new SerializedString("success");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString DETAILS = new SerializedString("details");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString PATH = new SerializedString("path");
+    private static final SerializedString ERROR_CODE = new SerializedString("errorCode");
+
+    private static final byte[] TIMESTAMP_FIELD = ",\"timestamp\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PATH_FIELD = "\",\"path\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] END = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final JsonFactory jsonFactory;
+
+    public ErrorResponseWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Serialises {@code {"success":false,"message":...,"status":...}} once, for messages that never change.
+     */
+    public static byte[] staticBody(int status, String message) {
+        return staticBody(status, message, null, null);
+    }
+
+    /**
+     * Same as {@link #staticBody(int, String)} with the {@code details} and {@code errorCode} fields of
+     * {@link ErrorMessage}; {@code null} fields are left out.
+     */
+    public static byte[] staticBody(int status, String message, String details, String errorCode) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = STATIC_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeFieldName(SUCCESS);
+            generator.writeBoolean(false);
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(message);
+            if (details != null) {
+                generator.writeFieldName(DETAILS);
+                generator.writeString(details);
+            }
+            generator.writeFieldName(STATUS);
+            generator.writeNumber(status);
+            if (errorCode != null) {
+                generator.writeFieldName(ERROR_CODE);
+                generator.writeString(errorCode);
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * {@link #staticBody(int, String, String, String)} without its closing brace, to be completed
+     * per request by {@link #write(HttpServletResponse, int, byte[], String)}.
+     */
+    public static byte[] staticPrefix(int status, String message, String details, String errorCode) {
+        byte[] body = staticBody(status, message, details, errorCode);
+        return Arrays.copyOf(body, body.length - 1);
+    }
+
+    /**
+     * Completes a {@link #staticPrefix} with the {@code timestamp} and {@code path} of the current request.
+     */
+    public static byte[] completeBody(byte[] prefix, String path) {
+        byte[] timestamp = LocalDateTime.now().toString().getBytes(StandardCharsets.UTF_8);
+        byte[] quotedPath = JsonStringEncoder.getInstance().quoteAsUTF8(path);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prefix.length + timestamp.length + quotedPath.length + 32);
+        out.writeBytes(prefix);
+        out.writeBytes(TIMESTAMP_FIELD);
+        out.writeBytes(timestamp);
+        out.writeBytes(PATH_FIELD);
+        out.writeBytes(quotedPath);
+        out.writeBytes(END);
+        return out.toByteArray();
+    }
+
+    public void write(HttpServletResponse response, int status, byte[] prefix, String path) throws IOException {
+        write(response, status, completeBody(prefix, path));
+    }
+
+    public void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        prepare(response, status);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Writes {@code success}, {@code message}, {@code status}, {@code timestamp} and {@code path}.
+     */
+    public void write(HttpServletResponse response, int status, String message, String path) throws IOException {
+        prepare(response, status);
+
+        JsonGenerator generator = jsonFactory.createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+        // The container owns the stream; flush but do not close it
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeFieldName(SUCCESS);
+        generator.writeBoolean(false);
+        generator.writeFieldName(MESSAGE);
+        generator.writeString(message);
+        generator.writeFieldName(STATUS);
+        generator.writeNumber(status);
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeString(LocalDateTime.now().toString());
+        generator.writeFieldName(PATH);
+        generator.writeString(path);
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private static void prepare(HttpServletResponse response, int status) {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+    }
+}
@@ -5,7 +5,10 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
@@ -24,7 +27,7 @@ import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -33,28 +36,31 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    // Frequent rejections: all but the timestamp and path is serialised once
+    private static final byte[] ACCESS_DENIED_PREFIX = ErrorResponseWriter.staticPrefix(HttpStatus.FORBIDDEN.value(),
+            "Access denied", "You don't have permission to access this resource", "ACCESS_DENIED");
+    private static final byte[] ENDPOINT_NOT_FOUND_PREFIX = ErrorResponseWriter.staticPrefix(HttpStatus.NOT_FOUND.value(),
+            "Endpoint not found", "No handler found for this request", "ENDPOINT_NOT_FOUND");
+
+    private final ErrorLogLimiter errorLogLimiter;
+
+    public GlobalExceptionHandler(ErrorLogLimiter errorLogLimiter) {
+        this.errorLogLimiter = errorLogLimiter;
+    }
+
     // Custom business exceptions
     @ExceptionHandler(RecordNotFoundException.class)
     public ResponseEntity<ErrorMessage> handleRecordNotFoundException(
             RecordNotFoundException ex, HttpServletRequest request) {
 
-        log.warn("Record not found: {}", ex.getMessage());
+        errorLogLimiter.warn(log, ex.getErrorCode(), "Record not found: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message(ex.getMessage())
-                .details("The requested resource was not found")
-                .status(HttpStatus.NOT_FOUND.value())
-                .path(request.getRequestURI())
-                .errorCode(ex.getErrorCode())
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.NOT_FOUND, ex.getMessage(),
+                "The requested resource was not found", ex.getErrorCode(), request)
                 .build();
 
         if (ex.getResourceName() != null) {
-            Map<String, Object> additionalInfo = new HashMap<>();
-            additionalInfo.put("resourceName", ex.getResourceName());
-            additionalInfo.put("fieldName", ex.getFieldName());
-            additionalInfo.put("fieldValue", ex.getFieldValue());
-            errorMessage.setAdditionalInfo(additionalInfo);
+            errorMessage.setAdditionalInfo(resourceInfo(ex.getResourceName(), ex.getFieldName(), ex.getFieldValue()));
         }
 
         return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
@@ -64,41 +70,56 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleDuplicateResourceException(
             DuplicateResourceException ex, HttpServletRequest request) {
 
-        log.warn("Duplicate resource: {}", ex.getMessage());
+        errorLogLimiter.warn(log, ex.getErrorCode(), "Duplicate resource: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message(ex.getMessage())
-                .details("A resource with the same identifier already exists")
-                .status(HttpStatus.CONFLICT.value())
-                .path(request.getRequestURI())
-                .errorCode(ex.getErrorCode())
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.CONFLICT, ex.getMessage(),
+                "A resource with the same identifier already exists", ex.getErrorCode(), request)
                 .build();
 
         if (ex.getResourceName() != null) {
-            Map<String, Object> additionalInfo = new HashMap<>();
-            additionalInfo.put("resourceName", ex.getResourceName());
-            additionalInfo.put("fieldName", ex.getFieldName());
-            additionalInfo.put("fieldValue", ex.getFieldValue());
-            errorMessage.setAdditionalInfo(additionalInfo);
+            errorMessage.setAdditionalInfo(resourceInfo(ex.getResourceName(), ex.getFieldName(), ex.getFieldValue()));
         }
 
         return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorMessage> handlePreconditionFailedException(
+            PreconditionFailedException ex, HttpServletRequest request) {
+
+        errorLogLimiter.warn(log, ex.getErrorCode(), "Precondition failed: {}", ex.getMessage());
+
+        ErrorMessage errorMessage = errorMessage(HttpStatus.PRECONDITION_FAILED, ex.getMessage(),
+                "Reload the resource and retry with its current ETag", ex.getErrorCode(), request)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(ex.getCurrentETag())
+                .body(errorMessage);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorMessage> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, HttpServletRequest request) {
+
+        errorLogLimiter.warn(log, "CONCURRENT_MODIFICATION", "Concurrent modification: {}", ex.getMessage());
+
+        ErrorMessage errorMessage = errorMessage(HttpStatus.CONFLICT,
+                "The resource was modified by another request",
+                "Reload the resource and retry", "CONCURRENT_MODIFICATION", request)
+                .build();
+
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(ServiceException.class)
     public ResponseEntity<ErrorMessage> handleServiceException(
             ServiceException ex, HttpServletRequest request) {
 
-        log.error("Service error: {}", ex.getMessage(), ex);
+        errorLogLimiter.error(log, ex.getErrorCode(), "Service error: {}", ex);
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message(ex.getMessage())
-                .details("An internal service error occurred")
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .path(request.getRequestURI())
-                .errorCode(ex.getErrorCode())
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(),
+                "An internal service error occurred", ex.getErrorCode(), request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.INTERNAL_SERVER_ERROR);
@@ -108,7 +129,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleValidationException(
             ValidationException ex, HttpServletRequest request) {
 
-        log.warn("Validation error: {}", ex.getMessage());
+        errorLogLimiter.warn(log, ex.getErrorCode(), "Validation error: {}", ex.getMessage());
 
         List<ErrorMessage.FieldError> fieldErrors = new ArrayList<>();
         if (ex.getFieldErrors() != null) {
@@ -121,25 +142,50 @@ public class GlobalExceptionHandler {
                     .collect(Collectors.toList());
         }
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message(ex.getMessage())
-                .details("Request validation failed")
-                .status(HttpStatus.BAD_REQUEST.value())
-                .path(request.getRequestURI())
-                .errorCode(ex.getErrorCode())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.BAD_REQUEST, ex.getMessage(),
+                "Request validation failed", ex.getErrorCode(), request)
                 .fieldErrors(fieldErrors)
-                .timestamp(LocalDateTime.now())
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorMessage> handleTooManyRequestsException(
+            TooManyRequestsException ex, HttpServletRequest request) {
+
+        errorLogLimiter.warn(log, ex.getErrorCode(), "Request rejected: {}", ex.getMessage());
+
+        ErrorMessage errorMessage = errorMessage(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(),
+                "The server is busy, retry after the indicated delay", ex.getErrorCode(), request)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorMessage);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorMessage> handleServiceUnavailableException(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+
+        errorLogLimiter.warn(log, ex.getErrorCode(), "Request rejected: {}", ex.getMessage());
+
+        ErrorMessage errorMessage = errorMessage(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(),
+                "The service is starting up, retry after the indicated delay", ex.getErrorCode(), request)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorMessage);
+    }
+
     // Validation exceptions
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorMessage> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
 
-        log.warn("Validation failed: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "VALIDATION_ERROR", "Validation failed: {}", ex.getMessage());
 
         List<ErrorMessage.FieldError> fieldErrors = ex.getBindingResult().getFieldErrors().stream()
                 .map(error -> ErrorMessage.FieldError.builder()
@@ -150,14 +196,9 @@ public class GlobalExceptionHandler {
                         .build())
                 .collect(Collectors.toList());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Request validation failed")
-                .details("One or more fields have invalid values")
-                .status(HttpStatus.BAD_REQUEST.value())
-                .path(request.getRequestURI())
-                .errorCode("VALIDATION_ERROR")
+        ErrorMessage errorMessage = errorMessage(HttpStatus.BAD_REQUEST, "Request validation failed",
+                "One or more fields have invalid values", "VALIDATION_ERROR", request)
                 .fieldErrors(fieldErrors)
-                .timestamp(LocalDateTime.now())
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
@@ -167,7 +208,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleConstraintViolationException(
             ConstraintViolationException ex, HttpServletRequest request) {
 
-        log.warn("Constraint violation: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "CONSTRAINT_VIOLATION", "Constraint violation: {}", ex.getMessage());
 
         List<ErrorMessage.FieldError> fieldErrors = ex.getConstraintViolations().stream()
                 .map(violation -> ErrorMessage.FieldError.builder()
@@ -178,14 +219,9 @@ public class GlobalExceptionHandler {
                         .build())
                 .collect(Collectors.toList());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Constraint validation failed")
-                .details("One or more constraints were violated")
-                .status(HttpStatus.BAD_REQUEST.value())
-                .path(request.getRequestURI())
-                .errorCode("CONSTRAINT_VIOLATION")
+        ErrorMessage errorMessage = errorMessage(HttpStatus.BAD_REQUEST, "Constraint validation failed",
+                "One or more constraints were violated", "CONSTRAINT_VIOLATION", request)
                 .fieldErrors(fieldErrors)
-                .timestamp(LocalDateTime.now())
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
@@ -196,51 +232,45 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleBadCredentialsException(
             BadCredentialsException ex, HttpServletRequest request) {
 
-        log.warn("Authentication failed: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "AUTHENTICATION_FAILED", "Authentication failed: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Authentication failed")
-                .details("Invalid username or password")
-                .status(HttpStatus.UNAUTHORIZED.value())
-                .path(request.getRequestURI())
-                .errorCode("AUTHENTICATION_FAILED")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.UNAUTHORIZED, "Authentication failed",
+                "Invalid username or password", "AUTHENTICATION_FAILED", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.UNAUTHORIZED);
     }
 
     @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorMessage> handleAccessDeniedException(
+    public ResponseEntity<byte[]> handleAccessDeniedException(
             AccessDeniedException ex, HttpServletRequest request) {
 
-        log.warn("Access denied: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "ACCESS_DENIED", "Access denied: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Access denied")
-                .details("You don't have permission to access this resource")
-                .status(HttpStatus.FORBIDDEN.value())
-                .path(request.getRequestURI())
-                .errorCode("ACCESS_DENIED")
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        return new ResponseEntity<>(errorMessage, HttpStatus.FORBIDDEN);
+        return staticResponse(HttpStatus.FORBIDDEN, ACCESS_DENIED_PREFIX, request);
     }
 
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorMessage> handleAuthenticationException(
             AuthenticationException ex, HttpServletRequest request) {
 
-        log.warn("Authentication error: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "AUTHENTICATION_REQUIRED", "Authentication error: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Authentication required")
-                .details("Valid authentication credentials are required")
-                .status(HttpStatus.UNAUTHORIZED.value())
-                .path(request.getRequestURI())
-                .errorCode("AUTHENTICATION_REQUIRED")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.UNAUTHORIZED, "Authentication required",
+                "Valid authentication credentials are required", "AUTHENTICATION_REQUIRED", request)
+                .build();
+
+        return new ResponseEntity<>(errorMessage, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(TokenRefreshException.class)
+    public ResponseEntity<ErrorMessage> handleTokenRefreshException(
+            TokenRefreshException ex, HttpServletRequest request) {
+
+        errorLogLimiter.warn(log, ex.getErrorCode(), "Token refresh rejected: {}", ex.getMessage());
+
+        ErrorMessage errorMessage = errorMessage(HttpStatus.UNAUTHORIZED, ex.getMessage(),
+                "Please login again to start a new session", ex.getErrorCode(), request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.UNAUTHORIZED);
@@ -251,15 +281,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleExpiredJwtException(
             ExpiredJwtException ex, HttpServletRequest request) {
 
-        log.warn("JWT token expired: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "JWT_EXPIRED", "JWT token expired: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("JWT token has expired")
-                .details("Please login again to get a new token")
-                .status(HttpStatus.UNAUTHORIZED.value())
-                .path(request.getRequestURI())
-                .errorCode("JWT_EXPIRED")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.UNAUTHORIZED, "JWT token has expired",
+                "Please login again to get a new token", "JWT_EXPIRED", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.UNAUTHORIZED);
@@ -269,15 +294,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleJwtException(
             RuntimeException ex, HttpServletRequest request) {
 
-        log.warn("Invalid JWT token: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "JWT_INVALID", "Invalid JWT token: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Invalid JWT token")
-                .details("The provided token is malformed or unsupported")
-                .status(HttpStatus.UNAUTHORIZED.value())
-                .path(request.getRequestURI())
-                .errorCode("JWT_INVALID")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.UNAUTHORIZED, "Invalid JWT token",
+                "The provided token is malformed or unsupported", "JWT_INVALID", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.UNAUTHORIZED);
@@ -288,51 +308,32 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleHttpRequestMethodNotSupported(
             HttpRequestMethodNotSupportedException ex, HttpServletRequest request) {
 
-        log.warn("Method not supported: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "METHOD_NOT_ALLOWED", "Method not supported: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("HTTP method not supported")
-                .details(String.format("Method '%s' is not supported for this endpoint", ex.getMethod()))
-                .status(HttpStatus.METHOD_NOT_ALLOWED.value())
-                .path(request.getRequestURI())
-                .errorCode("METHOD_NOT_ALLOWED")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.METHOD_NOT_ALLOWED, "HTTP method not supported",
+                String.format("Method '%s' is not supported for this endpoint", ex.getMethod()), "METHOD_NOT_ALLOWED", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.METHOD_NOT_ALLOWED);
     }
 
     @ExceptionHandler(NoHandlerFoundException.class)
-    public ResponseEntity<ErrorMessage> handleNoHandlerFoundException(
+    public ResponseEntity<byte[]> handleNoHandlerFoundException(
             NoHandlerFoundException ex, HttpServletRequest request) {
 
-        log.warn("No handler found: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "ENDPOINT_NOT_FOUND", "No handler found: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Endpoint not found")
-                .details(String.format("No handler found for %s %s", ex.getHttpMethod(), ex.getRequestURL()))
-                .status(HttpStatus.NOT_FOUND.value())
-                .path(request.getRequestURI())
-                .errorCode("ENDPOINT_NOT_FOUND")
-                .timestamp(LocalDateTime.now())
-                .build();
-
-        return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
+        return staticResponse(HttpStatus.NOT_FOUND, ENDPOINT_NOT_FOUND_PREFIX, request);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorMessage> handleHttpMessageNotReadable(
             HttpMessageNotReadableException ex, HttpServletRequest request) {
 
-        log.warn("Malformed JSON request: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "MALFORMED_JSON", "Malformed JSON request: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Malformed JSON request")
-                .details("The request body contains invalid JSON")
-                .status(HttpStatus.BAD_REQUEST.value())
-                .path(request.getRequestURI())
-                .errorCode("MALFORMED_JSON")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.BAD_REQUEST, "Malformed JSON request",
+                "The request body contains invalid JSON", "MALFORMED_JSON", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
@@ -342,16 +343,11 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleMethodArgumentTypeMismatch(
             MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
 
-        log.warn("Argument type mismatch: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "INVALID_PARAMETER_TYPE", "Argument type mismatch: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Invalid parameter type")
-                .details(String.format("Parameter '%s' should be of type %s",
-                        ex.getName(), ex.getRequiredType().getSimpleName()))
-                .status(HttpStatus.BAD_REQUEST.value())
-                .path(request.getRequestURI())
-                .errorCode("INVALID_PARAMETER_TYPE")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.BAD_REQUEST, "Invalid parameter type",
+                String.format("Parameter '%s' should be of type %s",
+                        ex.getName(), ex.getRequiredType().getSimpleName()), "INVALID_PARAMETER_TYPE", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
@@ -361,15 +357,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleMissingServletRequestParameter(
             MissingServletRequestParameterException ex, HttpServletRequest request) {
 
-        log.warn("Missing request parameter: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "MISSING_PARAMETER", "Missing request parameter: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("Missing required parameter")
-                .details(String.format("Required parameter '%s' is missing", ex.getParameterName()))
-                .status(HttpStatus.BAD_REQUEST.value())
-                .path(request.getRequestURI())
-                .errorCode("MISSING_PARAMETER")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.BAD_REQUEST, "Missing required parameter",
+                String.format("Required parameter '%s' is missing", ex.getParameterName()), "MISSING_PARAMETER", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
@@ -380,7 +371,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleDataIntegrityViolation(
             DataIntegrityViolationException ex, HttpServletRequest request) {
 
-        log.error("Data integrity violation: {}", ex.getMessage(), ex);
+        errorLogLimiter.error(log, "DATA_INTEGRITY_VIOLATION", "Data integrity violation: {}", ex);
 
         String message = "Data integrity violation";
         String details = "The operation violates database constraints";
@@ -393,13 +384,8 @@ public class GlobalExceptionHandler {
             details = "Cannot delete/update due to existing related records";
         }
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message(message)
-                .details(details)
-                .status(HttpStatus.CONFLICT.value())
-                .path(request.getRequestURI())
-                .errorCode("DATA_INTEGRITY_VIOLATION")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.CONFLICT, message,
+                details, "DATA_INTEGRITY_VIOLATION", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
@@ -410,15 +396,10 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleIllegalArgumentException(
             IllegalArgumentException ex, HttpServletRequest request) {
 
-        log.warn("Illegal argument: {}", ex.getMessage());
+        errorLogLimiter.warn(log, "ILLEGAL_ARGUMENT", "Illegal argument: {}", ex.getMessage());
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message(ex.getMessage())
-                .details("Invalid argument provided")
-                .status(HttpStatus.BAD_REQUEST.value())
-                .path(request.getRequestURI())
-                .errorCode("ILLEGAL_ARGUMENT")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.BAD_REQUEST, ex.getMessage(),
+                "Invalid argument provided", "ILLEGAL_ARGUMENT", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
@@ -429,20 +410,43 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorMessage> handleGenericException(
             Exception ex, HttpServletRequest request) {
 
-        log.error("Unexpected error occurred: {}", ex.getMessage(), ex);
+        errorLogLimiter.error(log, "INTERNAL_ERROR:" + ex.getClass().getSimpleName(), "Unexpected error occurred: {}", ex);
 
-        ErrorMessage errorMessage = ErrorMessage.builder()
-                .message("An unexpected error occurred")
-                .details("Please contact support if this problem persists")
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .path(request.getRequestURI())
-                .errorCode("INTERNAL_ERROR")
-                .timestamp(LocalDateTime.now())
+        ErrorMessage errorMessage = errorMessage(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred",
+                "Please contact support if this problem persists", "INTERNAL_ERROR", request)
                 .build();
 
         return new ResponseEntity<>(errorMessage, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    // Envelope shared by every handler; callers add field errors or context before build()
+    private static ErrorMessage.ErrorMessageBuilder errorMessage(HttpStatus status, String message, String details,
+                                                             String errorCode, HttpServletRequest request) {
+        return ErrorMessage.builder()
+                .message(message)
+                .details(details)
+                .status(status.value())
+                .path(request.getRequestURI())
+                .errorCode(errorCode)
+                .timestamp(LocalDateTime.now());
+    }
+
+    private static ResponseEntity<byte[]> staticResponse(HttpStatus status, byte[] prefix, HttpServletRequest request) {
+        byte[] body = ErrorResponseWriter.completeBody(prefix, request.getRequestURI());
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .body(body);
+    }
+
+    private static Map<String, Object> resourceInfo(String resourceName, String fieldName, Object fieldValue) {
+        Map<String, Object> additionalInfo = new LinkedHashMap<>(4);
+        additionalInfo.put("resourceName", resourceName);
+        additionalInfo.put("fieldName", fieldName);
+        additionalInfo.put("fieldValue", fieldValue);
+        return additionalInfo;
+    }
+
     // Helper method to extract field name from constraint violation
     private String getFieldName(ConstraintViolation<?> violation) {
         String propertyPath = violation.getPropertyPath().toString();
@@ -0,0 +1,26 @@
+// PreconditionFailedException.java
+package com.example.SampleProject.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    private final String currentETag;
+    private final String errorCode;
+
+    public PreconditionFailedException(String message, String currentETag) {
+        super(message, null, false, false);
+        this.currentETag = currentETag;
+        this.errorCode = "PRECONDITION_FAILED";
+    }
+
+    public String getCurrentETag() {
+        return currentETag;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
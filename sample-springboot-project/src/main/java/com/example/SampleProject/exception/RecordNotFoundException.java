@@ -12,7 +12,7 @@ public class RecordNotFoundException extends RuntimeException {
     private final String errorCode;
 
     public RecordNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
         this.resourceName = null;
         this.fieldName = null;
         this.fieldValue = null;
@@ -20,7 +20,7 @@ public class RecordNotFoundException extends RuntimeException {
     }
 
     public RecordNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
         this.resourceName = null;
         this.fieldName = null;
         this.fieldValue = null;
@@ -28,7 +28,7 @@ public class RecordNotFoundException extends RuntimeException {
     }
 
     public RecordNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s not found with %s: %s", resourceName, fieldName, fieldValue));
+        super(String.format("%s not found with %s: %s", resourceName, fieldName, fieldValue), null, false, false);
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
@@ -36,7 +36,7 @@ public class RecordNotFoundException extends RuntimeException {
     }
 
     public RecordNotFoundException(String resourceName, String fieldName, Object fieldValue, String errorCode) {
-        super(String.format("%s not found with %s: %s", resourceName, fieldName, fieldValue));
+        super(String.format("%s not found with %s: %s", resourceName, fieldName, fieldValue), null, false, false);
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
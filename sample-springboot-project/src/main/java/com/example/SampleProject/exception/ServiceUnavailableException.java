@@ -0,0 +1,31 @@
+package com.example.SampleProject.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+    private final String errorCode;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.errorCode = "SERVICE_UNAVAILABLE";
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds, String errorCode) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.errorCode = errorCode;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,25 @@
+// TokenRefreshException.java
+package com.example.SampleProject.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class TokenRefreshException extends RuntimeException {
+
+    private final String errorCode;
+
+    public TokenRefreshException(String message) {
+        super(message, null, false, false);
+        this.errorCode = "REFRESH_TOKEN_INVALID";
+    }
+
+    public TokenRefreshException(String message, String errorCode) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
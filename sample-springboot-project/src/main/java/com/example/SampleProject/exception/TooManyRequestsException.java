@@ -0,0 +1,32 @@
+// TooManyRequestsException.java
+package com.example.SampleProject.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+    private final String errorCode;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.errorCode = "TOO_MANY_REQUESTS";
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds, String errorCode) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.errorCode = errorCode;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+}
@@ -13,19 +13,19 @@ public class ValidationException extends RuntimeException {
     private final String errorCode;
 
     public ValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
         this.fieldErrors = null;
         this.errorCode = "VALIDATION_ERROR";
     }
 
     public ValidationException(String message, Map<String, String> fieldErrors) {
-        super(message);
+        super(message, null, false, false);
         this.fieldErrors = fieldErrors;
         this.errorCode = "VALIDATION_ERROR";
     }
 
     public ValidationException(String message, Map<String, String> fieldErrors, String errorCode) {
-        super(message);
+        super(message, null, false, false);
         this.fieldErrors = fieldErrors;
         this.errorCode = errorCode;
     }
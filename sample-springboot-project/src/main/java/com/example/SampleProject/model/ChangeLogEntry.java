@@ -0,0 +1,48 @@
+package com.example.SampleProject.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+/**
+ * One row of the change feed. The id is the feed sequence; rows are only ever appended, in the
+ * same transaction as the change they describe, so a change is in the feed exactly when it is committed.
+ */
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+    public enum EntityType {
+        USER, ROLE
+    }
+
+    public enum Operation {
+        CREATE, UPDATE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+}
@@ -3,7 +3,10 @@ package com.example.SampleProject.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import javax.persistence.*;
 import java.util.HashSet;
@@ -13,6 +16,8 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
+@EqualsAndHashCode(exclude = {"roles", "version"})
+@ToString(exclude = {"password", "roles"})
 @Entity
 @Table(name = "users")
 public class User {
@@ -23,7 +28,17 @@ public class User {
     private String name;
     private String password;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @Version
+    private Long version;
+
+    // Bumped whenever the user's effective authorities change; tokens carrying an older value are rejected
+    @Builder.Default
+    @Column(nullable = false)
+    private Long tokenVersion = 0L;
+
+    // Loaded per use case: an entity graph on the auth path, batched selects elsewhere
+    @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id") ,
             inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -53,6 +68,22 @@ public class User {
         this.password = password;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public Set<Role> getRoles() {
         return roles;
     }
@@ -0,0 +1,20 @@
+package com.example.SampleProject.repository;
+
+import com.example.SampleProject.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    /**
+     * Entries after a sequence number, in sequence order
+     */
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.id > :since ORDER BY c.id")
+    List<ChangeLogEntry> findPageAfter(@Param("since") long since, Pageable pageable);
+}
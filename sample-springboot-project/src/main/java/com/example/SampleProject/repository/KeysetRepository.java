@@ -0,0 +1,28 @@
+package com.example.SampleProject.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination for entities with an {@code id} and a {@code name}. Pages continue strictly
+ * after the last row returned, so the cost of a page does not grow with its position. Pass a
+ * {@link Pageable} of the first page to bound the number of rows.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T> extends Repository<T, Long> {
+
+    @Query("SELECT e FROM #{#entityName} e WHERE e.id > :afterId ORDER BY e.id")
+    List<T> findPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT e FROM #{#entityName} e ORDER BY e.name, e.id")
+    List<T> findFirstPageOrderByName(Pageable pageable);
+
+    @Query("SELECT e FROM #{#entityName} e WHERE e.name > :name OR (e.name = :name AND e.id > :afterId) " +
+            "ORDER BY e.name, e.id")
+    List<T> findPageOrderByName(@Param("name") String name, @Param("afterId") long afterId, Pageable pageable);
+}
@@ -0,0 +1,50 @@
+package com.example.SampleProject.repository;
+
+import com.example.SampleProject.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Find a refresh token by the digest of its value
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Find a refresh token by digest and lock it, so that concurrent rotations of the same token serialize
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RefreshToken t WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashForUpdate(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Revoke every token of a rotation chain
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Revoke every refresh token of a user, ending all of their sessions
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.username = :username")
+    int revokeAllByUsername(@Param("username") String username);
+
+    /**
+     * Drop a user's refresh tokens that can no longer be used
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.username = :username AND t.expiresAt < :now")
+    int deleteExpiredByUsername(@Param("username") String username, @Param("now") Instant now);
+}
@@ -1,13 +1,42 @@
 package com.example.SampleProject.repository;
 
 import com.example.SampleProject.model.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Long>, KeysetRepository<Role>, VersionedRepository<Role> {
+    /**
+     * All roles, from the query cache until the roles table is written
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Role> findAll();
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
+
     boolean existsByName(String name);
+
+    @EntityGraph(attributePaths = "permissions")
+    Optional<Role> findWithPermissionsById(Long id);
+
+    /**
+     * Bump the version of roles whose permissions were changed outside of Hibernate
+     */
+    @Modifying
+    @Query("UPDATE Role r SET r.version = r.version + 1 WHERE r.id IN :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
 }
@@ -1,13 +1,119 @@
 package com.example.SampleProject.repository;
 
 import com.example.SampleProject.model.User;
+import com.example.SampleProject.repository.projection.UserRoleRow;
+import com.example.SampleProject.repository.projection.UserSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, VersionedRepository<User> {
     Optional<User> findByName(String name);
     boolean existsByName(String name);
+
+    /**
+     * Which of the given names are already taken, checked in one select
+     */
+    @Query("SELECT u.name FROM User u WHERE u.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    /**
+     * User with its roles in a single select, for building authorities. Role permissions are
+     * read from the second-level cache, and only for roles whose grant is not already known.
+     */
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByName(String name);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long id);
+
+    /*
+     * Keyset pages of user summaries; roles for a page are read with findRoleRowsByUserIdIn
+     */
+
+    @Query("SELECT u.id AS id, u.name AS name FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummaryPageOrderById(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.name AS name FROM User u ORDER BY u.name, u.id")
+    List<UserSummary> findFirstSummaryPageOrderByName(Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.name AS name FROM User u " +
+            "WHERE u.name > :name OR (u.name = :name AND u.id > :afterId) ORDER BY u.name, u.id")
+    List<UserSummary> findSummaryPageOrderByName(@Param("name") String name, @Param("afterId") long afterId,
+                                                 Pageable pageable);
+
+    @Query("SELECT u.id AS userId, u.name AS userName, r.id AS roleId, r.name AS roleName " +
+            "FROM User u JOIN u.roles r WHERE u.id IN :userIds")
+    List<UserRoleRow> findRoleRowsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * One row per (user, role) in user id order, read through a server-side cursor in batches of
+     * the fetch size. Rows of the same user are adjacent. The caller must consume the stream
+     * inside a transaction and close it.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT u.id AS userId, u.name AS userName, r.id AS roleId, r.name AS roleName " +
+            "FROM User u LEFT JOIN u.roles r ORDER BY u.id")
+    Stream<UserRoleRow> streamRoleRowsOrderByUserId();
+
+    /**
+     * Id and name of every user through a server-side cursor, for building the search index.
+     * The caller must consume the stream inside a transaction and close it.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT u.id AS id, u.name AS name FROM User u ORDER BY u.id")
+    Stream<UserSummary> streamSummariesOrderById();
+
+    /**
+     * Read only the token version of a user, without loading roles and permissions. Not read-only,
+     * so that it is read on the primary: a lagging replica would still accept revoked tokens.
+     */
+    @Transactional
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.name = :name")
+    Optional<Long> findTokenVersionByName(@Param("name") String name);
+
+    /**
+     * Invalidate every token issued to the given user
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.name = :name")
+    int incrementTokenVersion(@Param("name") String name);
+
+    /**
+     * Invalidate every token issued to holders of the given role
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET token_version = token_version + 1 " +
+            "WHERE id IN (SELECT ur.user_id FROM user_roles ur WHERE ur.role_id = :roleId)", nativeQuery = true)
+    int incrementTokenVersionForRole(@Param("roleId") Long roleId);
+
+    /**
+     * Invalidate every token issued to holders of any of the given roles; each user is bumped once
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET token_version = token_version + 1 " +
+            "WHERE id IN (SELECT ur.user_id FROM user_roles ur WHERE ur.role_id IN (:roleIds))", nativeQuery = true)
+    int incrementTokenVersionForRoles(@Param("roleIds") Collection<Long> roleIds);
 }
@@ -0,0 +1,19 @@
+package com.example.SampleProject.repository;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+/**
+ * Version lookups for entities with a {@code @Version} column, used to answer conditional
+ * requests without loading the entities themselves.
+ */
+@NoRepositoryBean
+public interface VersionedRepository<T> extends Repository<T, Long> {
+
+    @Query("SELECT e.version FROM #{#entityName} e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+}
@@ -0,0 +1,11 @@
+package com.example.SampleProject.repository.projection;
+
+/**
+ * One (user, role) pair of the user_roles join; role columns are null for a user without roles.
+ */
+public interface UserRoleRow {
+    Long getUserId();
+    String getUserName();
+    Long getRoleId();
+    String getRoleName();
+}
@@ -0,0 +1,9 @@
+package com.example.SampleProject.repository.projection;
+
+/**
+ * Columns of a user needed by list views; the password hash is never selected.
+ */
+public interface UserSummary {
+    Long getId();
+    String getName();
+}
@@ -0,0 +1,8 @@
+package com.example.SampleProject.service;
+
+import com.example.SampleProject.dto.ChangeFeedPage;
+
+public interface ChangeFeedService {
+
+    ChangeFeedPage getChanges(long since, Integer limit);
+}
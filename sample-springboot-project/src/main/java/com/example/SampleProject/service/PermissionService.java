@@ -1,10 +1,12 @@
 package com.example.SampleProject.service;
 
+import com.example.SampleProject.dto.CursorPage;
 import com.example.SampleProject.dto.PermissionDto;
 
-import java.util.List;
-
 public interface PermissionService {
-    List<PermissionDto> getAll();
+    CursorPage<PermissionDto> getPage(String cursor, Integer size, String sort);
     PermissionDto findById(Long id);
+    String getETag(Long id);
+    String getCollectionETag();
+    CursorPage<PermissionDto> search(String query, String cursor, Integer size);
 }
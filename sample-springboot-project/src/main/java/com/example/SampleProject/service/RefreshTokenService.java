@@ -0,0 +1,10 @@
+package com.example.SampleProject.service;
+
+import com.example.SampleProject.dto.IssuedRefreshToken;
+
+public interface RefreshTokenService {
+    IssuedRefreshToken issue(String username);
+    IssuedRefreshToken rotate(String refreshToken);
+    void revoke(String refreshToken);
+    void revokeAll(String username);
+}
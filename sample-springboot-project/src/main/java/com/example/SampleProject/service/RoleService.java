@@ -1,14 +1,18 @@
 package com.example.SampleProject.service;
 
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.dto.PermissionMatrixDto;
+import com.example.SampleProject.dto.PermissionMatrixResult;
 import com.example.SampleProject.dto.RoleDto;
 
-import java.util.List;
-
 public interface RoleService {
 
     RoleDto addRole(RoleDto roleDto);
-    List<RoleDto> getAll();
+    CursorPage<RoleDto> getPage(String cursor, Integer size, String sort);
     RoleDto findById(Long id);
-    RoleDto updateRole(Long id, RoleDto roleDto);
+    RoleDto updateRole(Long id, RoleDto roleDto, String ifMatch);
+    String getETag(Long id);
+    String getCollectionETag();
+    PermissionMatrixResult applyPermissionMatrix(PermissionMatrixDto matrix);
 
 }
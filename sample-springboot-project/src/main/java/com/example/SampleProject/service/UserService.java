@@ -1,13 +1,24 @@
 package com.example.SampleProject.service;
 
+import com.example.SampleProject.dto.BulkImportReport;
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.dto.ExportFormat;
 import com.example.SampleProject.dto.UserDto;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 @Service
 public interface UserService {
     UserDto registerUser(UserDto userdto);
-    List<UserDto> getAll();
+    CursorPage<UserDto> getPage(String cursor, Integer size, String sort);
     UserDto findById(Long id);
+    void revokeSessions(Long id);
+    String getETag(Long id);
+    String getCollectionETag();
+    CursorPage<UserDto> search(String query, String cursor, Integer size);
+    void exportUsers(ExportFormat format, OutputStream outputStream) throws IOException;
+    BulkImportReport importUsers(ExportFormat format, InputStream inputStream) throws IOException;
 }
@@ -0,0 +1,214 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.ExportFormat;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads uploaded users one row at a time, in the layout written by {@link UserExportWriter} plus a
+ * password. A row that cannot be parsed is returned with an error instead of ending the upload.
+ */
+abstract class BulkUserReader implements Closeable {
+
+    static final class Row {
+        final int number;
+        final String name;
+        final String password;
+        final List<String> roleNames;
+        final String error;
+
+        Row(int number, String name, String password, List<String> roleNames, String error) {
+            this.number = number;
+            this.name = name;
+            this.password = password;
+            this.roleNames = roleNames;
+            this.error = error;
+        }
+
+        static Row invalid(int number, String error) {
+            return new Row(number, null, null, Collections.emptyList(), error);
+        }
+    }
+
+    protected final BufferedReader reader;
+    protected int rowNumber;
+
+    BulkUserReader(InputStream inputStream) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    static BulkUserReader create(ExportFormat format, InputStream inputStream, ObjectMapper objectMapper)
+            throws IOException {
+        return format == ExportFormat.CSV
+                ? new Csv(inputStream)
+                : new NdJson(inputStream, objectMapper);
+    }
+
+    /**
+     * @return the next row, or {@code null} at the end of the upload
+     */
+    abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static final class NdJson extends BulkUserReader {
+
+        private final ObjectMapper objectMapper;
+
+        NdJson(InputStream inputStream, ObjectMapper objectMapper) {
+            super(inputStream);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+            rowNumber++;
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return Row.invalid(rowNumber, "Malformed JSON");
+            }
+            if (!node.isObject()) {
+                return Row.invalid(rowNumber, "Expected a JSON object");
+            }
+
+            List<String> roleNames = new ArrayList<>();
+            JsonNode roles = node.path("roles");
+            if (!roles.isMissingNode() && !roles.isNull() && !roles.isArray()) {
+                return new Row(rowNumber, node.path("name").asText(null), null, roleNames,
+                        "roles must be an array of role names");
+            }
+            for (JsonNode role : roles) {
+                // Role objects as returned by the API are accepted as well as plain names
+                roleNames.add(role.isObject() ? role.path("name").asText(null) : role.asText(null));
+            }
+            return new Row(rowNumber, node.path("name").asText(null), node.path("password").asText(null),
+                    roleNames, null);
+        }
+    }
+
+    private static final class Csv extends BulkUserReader {
+
+        private final StringBuilder field = new StringBuilder();
+        private int nameColumn = -1;
+        private int passwordColumn = -1;
+        private int rolesColumn = -1;
+
+        Csv(InputStream inputStream) throws IOException {
+            super(inputStream);
+            List<String> header = readRecord();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    String column = header.get(i).trim();
+                    if ("name".equalsIgnoreCase(column)) {
+                        nameColumn = i;
+                    } else if ("password".equalsIgnoreCase(column)) {
+                        passwordColumn = i;
+                    } else if ("roles".equalsIgnoreCase(column)) {
+                        rolesColumn = i;
+                    }
+                }
+            }
+        }
+
+        @Override
+        Row next() throws IOException {
+            List<String> record = readRecord();
+            if (record == null) {
+                return null;
+            }
+            rowNumber++;
+            if (nameColumn < 0 || passwordColumn < 0) {
+                return Row.invalid(rowNumber, "CSV header must contain the columns name and password");
+            }
+
+            List<String> roleNames = new ArrayList<>();
+            String roles = column(record, rolesColumn);
+            if (roles != null) {
+                for (String roleName : roles.split(";")) {
+                    if (!roleName.trim().isEmpty()) {
+                        roleNames.add(roleName.trim());
+                    }
+                }
+            }
+            return new Row(rowNumber, column(record, nameColumn), column(record, passwordColumn), roleNames, null);
+        }
+
+        private static String column(List<String> record, int index) {
+            return index >= 0 && index < record.size() ? record.get(index) : null;
+        }
+
+        // One RFC 4180 record; quoted fields may contain separators and line breaks. Blank lines are skipped.
+        private List<String> readRecord() throws IOException {
+            List<String> record = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean sawData = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    sawData = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                    sawData = true;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (sawData || field.length() > 0) {
+                        record.add(field.toString());
+                        return record;
+                    }
+                } else {
+                    field.append((char) c);
+                    sawData = true;
+                }
+            }
+            if (sawData || field.length() > 0) {
+                record.add(field.toString());
+                return record;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.ChangeDto;
+import com.example.SampleProject.dto.ChangeFeedPage;
+import com.example.SampleProject.exception.ValidationException;
+import com.example.SampleProject.model.ChangeLogEntry;
+import com.example.SampleProject.repository.ChangeLogRepository;
+import com.example.SampleProject.service.ChangeFeedService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    public ChangeFeedServiceImpl(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    /**
+     * {@link ChangeLogWriter} appends and commits entries one transaction at a time, so every entry
+     * visible here was committed after all lower sequence numbers were committed or rolled back: a
+     * consumer can move past the last one it sees without missing a later commit. Read from the
+     * primary, whose committed state is the horizon; a replica would only lag behind it.
+     */
+    @Override
+    @Transactional
+    public ChangeFeedPage getChanges(long since, Integer limit) {
+        if (since < 0) {
+            throw new ValidationException("Invalid sequence",
+                    Collections.singletonMap("since", "Sequence must not be negative"));
+        }
+        int pageSize = checkLimit(limit);
+
+        // One extra row tells whether there is more without a count query
+        List<ChangeLogEntry> rows = changeLogRepository.findPageAfter(since, PageRequest.of(0, pageSize + 1));
+        boolean more = rows.size() > pageSize;
+        List<ChangeLogEntry> pageRows = more ? rows.subList(0, pageSize) : rows;
+
+        List<ChangeDto> changes = new ArrayList<>(pageRows.size());
+        long next = since;
+        for (ChangeLogEntry entry : pageRows) {
+            changes.add(new ChangeDto(entry.getId(), entry.getEntityType(), entry.getEntityId(), entry.getOperation()));
+            next = entry.getId();
+        }
+        return new ChangeFeedPage(changes, next, more);
+    }
+
+    private static int checkLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ValidationException("Invalid limit",
+                    Collections.singletonMap("limit", "Limit must be between 1 and " + MAX_LIMIT));
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.model.ChangeLogEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Appends entries to the change feed. Callers must already be in a write transaction, so that an entry
+ * is committed or rolled back together with the change it describes.
+ * <p>
+ * Entries are held until the transaction is about to commit and then written as its last statements,
+ * under the lock on the {@code change_log_lock} row. The lock is held until commit, so transactions
+ * append and commit one at a time in sequence order, and only for as long as the append itself.
+ */
+@Component
+public class ChangeLogWriter {
+
+    private static final String LOCK = "SELECT id FROM change_log_lock WHERE id = 1 FOR UPDATE";
+    private static final String INSERT_CHANGE =
+            "INSERT INTO change_log (entity_type, entity_id, operation, recorded_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ChangeLogWriter(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeLogEntry.EntityType entityType, ChangeLogEntry.Operation operation, Long entityId) {
+        recordAll(entityType, operation, Collections.singletonList(entityId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(ChangeLogEntry.EntityType entityType, ChangeLogEntry.Operation operation,
+                          Collection<Long> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = pendingRows();
+        for (Long entityId : entityIds) {
+            rows.add(new Object[]{entityType.name(), entityId, operation.name(), null});
+        }
+    }
+
+    // Rows waiting for the commit of the current transaction; synchronizations are suspended with it
+    private List<Object[]> pendingRows() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges && ((PendingChanges) synchronization).owner == this) {
+                return ((PendingChanges) synchronization).rows;
+            }
+        }
+        PendingChanges pending = new PendingChanges(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.rows;
+    }
+
+    private void write(List<Object[]> rows) {
+        // Pending JPA changes go first, so that the lock is only held from here to the commit
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.flush();
+        }
+        jdbcTemplate.queryForList(LOCK, Integer.class);
+
+        Timestamp recordedAt = new Timestamp(System.currentTimeMillis());
+        for (Object[] row : rows) {
+            row[3] = recordedAt;
+        }
+        jdbcTemplate.batchUpdate(INSERT_CHANGE, rows);
+    }
+
+    private static final class PendingChanges implements TransactionSynchronization {
+
+        private final ChangeLogWriter owner;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private PendingChanges(ChangeLogWriter owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            owner.write(rows);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.SampleProject.service.impl;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Version counters of the listed collections, from which collection ETags are read with one
+ * primary-key lookup. Callers must already be in a write transaction, so that the bump commits
+ * or rolls back together with the change.
+ * <p>
+ * Each collection written by a transaction is bumped once, just before it commits, like the
+ * appends of {@link ChangeLogWriter}. The counter row stays locked only from the bump to the
+ * commit, and a new version is never visible before the change it stands for.
+ */
+@Component
+public class CollectionVersions {
+
+    public enum Kind {
+        USERS, ROLES, PERMISSIONS
+    }
+
+    private static final String SELECT_VERSION = "SELECT version FROM collection_versions WHERE name = ?";
+    private static final String BUMP_VERSION = "UPDATE collection_versions SET version = version + 1 WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CollectionVersions(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public long current(Kind kind) {
+        return jdbcTemplate.queryForObject(SELECT_VERSION, Long.class, kind.name());
+    }
+
+    /**
+     * Bump the version of the collection when the current transaction commits
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void touch(Kind kind) {
+        pendingKinds().add(kind);
+    }
+
+    // Collections to bump at the commit of the current transaction; synchronizations are suspended with it
+    private Set<Kind> pendingKinds() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingBumps && ((PendingBumps) synchronization).owner == this) {
+                return ((PendingBumps) synchronization).kinds;
+            }
+        }
+        PendingBumps pending = new PendingBumps(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending.kinds;
+    }
+
+    private void bump(Set<Kind> kinds) {
+        // Pending JPA changes go first, so that the counters are only locked from here to the commit
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            entityManager.flush();
+        }
+        // Always in enum order, so that transactions bumping several counters cannot deadlock
+        for (Kind kind : kinds) {
+            jdbcTemplate.update(BUMP_VERSION, kind.name());
+        }
+    }
+
+    private static final class PendingBumps implements TransactionSynchronization {
+
+        private final CollectionVersions owner;
+        private final Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+
+        private PendingBumps(CollectionVersions owner) {
+            this.owner = owner;
+        }
+
+        // Ahead of the change log append, so that both locks are always taken in the same order
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            owner.bump(kinds);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.exception.PreconditionFailedException;
+
+/**
+ * Strong entity tags derived from entity versions, so that they can be computed without
+ * loading or serialising the entities.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String item(String kind, long id, long version) {
+        return "\"" + kind + "-" + id + "-v" + version + "\"";
+    }
+
+    static String collection(String kind, long version) {
+        return "\"" + kind + "s-v" + version + "\"";
+    }
+
+    /**
+     * Reject an update whose {@code If-Match} header does not name the current tag. Without the
+     * header, or with {@code *}, the update is only checked against concurrent writers at flush.
+     *
+     * @throws PreconditionFailedException if the client holds an outdated copy
+     */
+    static void checkIfMatch(String ifMatch, String currentTag, String resourceName) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return;
+        }
+        for (String tag : ifMatch.split(",")) {
+            if (tag.trim().equals(currentTag)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException(resourceName + " was modified since it was read", currentTag);
+    }
+}
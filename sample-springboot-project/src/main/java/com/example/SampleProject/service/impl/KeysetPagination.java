@@ -0,0 +1,152 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.exception.ValidationException;
+import com.example.SampleProject.repository.KeysetRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor handling shared by the paginated listings. A cursor encodes the sort key and the
+ * position of the last row of the previous page; clients treat it as opaque.
+ */
+final class KeysetPagination {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetPagination() {
+    }
+
+    enum SortKey {
+        ID("i"), NAME("n");
+
+        private final String tag;
+
+        SortKey(String tag) {
+            this.tag = tag;
+        }
+
+        static SortKey parse(String sort) {
+            if (sort == null || sort.isEmpty() || "id".equalsIgnoreCase(sort)) {
+                return ID;
+            }
+            if ("name".equalsIgnoreCase(sort)) {
+                return NAME;
+            }
+            throw new ValidationException("Invalid sort",
+                    Collections.singletonMap("sort", "Supported values are 'id' and 'name'"));
+        }
+    }
+
+    /**
+     * Reads up to {@code limit} rows strictly after a position. {@code afterId} is {@code null} for the
+     * first page, {@code afterName} is only set for {@link SortKey#NAME}.
+     */
+    @FunctionalInterface
+    interface PageReader<E> {
+        List<E> read(SortKey sortKey, Long afterId, String afterName, Pageable limit);
+    }
+
+    static <E> PageReader<E> reader(KeysetRepository<E> repository) {
+        return (sortKey, afterId, afterName, limit) -> {
+            if (sortKey == SortKey.ID) {
+                return repository.findPageOrderById(afterId != null ? afterId : 0L, limit);
+            }
+            return afterId == null
+                    ? repository.findFirstPageOrderByName(limit)
+                    : repository.findPageOrderByName(afterName, afterId, limit);
+        };
+    }
+
+    /**
+     * Read one page of entities and map each row to a DTO.
+     */
+    static <E, D> CursorPage<D> page(KeysetRepository<E> repository, String cursor, Integer size, String sort,
+                                     Function<E, Long> idOf, Function<E, String> nameOf, Function<E, D> mapper) {
+        return page(reader(repository), cursor, size, sort, idOf, nameOf, rows -> {
+            List<D> items = new ArrayList<>(rows.size());
+            for (E row : rows) {
+                items.add(mapper.apply(row));
+            }
+            return items;
+        });
+    }
+
+    /**
+     * Read one page of {@code size} rows after {@code cursor}; the page is mapped as a whole so that
+     * the mapper can load related data for all rows at once.
+     */
+    static <E, D> CursorPage<D> page(PageReader<E> reader, String cursor, Integer size, String sort,
+                                     Function<E, Long> idOf, Function<E, String> nameOf,
+                                     Function<List<E>, List<D>> pageMapper) {
+        int pageSize = checkSize(size);
+        SortKey sortKey = SortKey.parse(sort);
+
+        // One extra row tells whether there is a next page without a count query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<E> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = reader.read(sortKey, null, null, limit);
+        } else {
+            String[] position = decode(cursor, sortKey);
+            rows = reader.read(sortKey, Long.parseLong(position[1]),
+                    sortKey == SortKey.NAME ? position[2] : null, limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String next = null;
+        if (hasNext) {
+            E last = pageRows.get(pageSize - 1);
+            next = encode(sortKey, idOf.apply(last), nameOf.apply(last));
+        }
+        return new CursorPage<>(pageMapper.apply(pageRows), next, pageSize);
+    }
+
+    static int checkSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Invalid page size",
+                    Collections.singletonMap("size", "Page size must be between 1 and " + MAX_SIZE));
+        }
+        return size;
+    }
+
+    private static String encode(SortKey sortKey, long id, String name) {
+        String position = sortKey == SortKey.ID
+                ? sortKey.tag + ":" + id
+                : sortKey.tag + ":" + id + ":" + name;
+        return ENCODER.encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns {tag, id[, name]}; anything that this class did not produce is rejected
+    private static String[] decode(String cursor, SortKey sortKey) {
+        try {
+            String position = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int expectedParts = sortKey == SortKey.ID ? 2 : 3;
+            String[] parts = position.split(":", expectedParts);
+            if (parts.length == expectedParts && sortKey.tag.equals(parts[0])) {
+                Long.parseLong(parts[1]);
+                return parts;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number; reported below
+        }
+        throw new ValidationException("Invalid cursor",
+                Collections.singletonMap("cursor", "Cursor is malformed or was issued for a different sort"));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.SampleProject.service.impl;
 
+import com.example.SampleProject.config.security.AuthorityGrant;
+import com.example.SampleProject.config.security.RoleAuthorityRegistry;
 import com.example.SampleProject.dto.CustomUserDetail;
 import com.example.SampleProject.model.User;
 import com.example.SampleProject.repository.UserRepository;
@@ -8,6 +10,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -17,13 +20,43 @@ public class MyUserDetailServiceImplementation implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
+    @Autowired
+    RoleAuthorityRegistry roleAuthorityRegistry;
+
+    /**
+     * Loads from the primary rather than the replica: the result is cached until the next role or
+     * user change, so a lagging replica would keep serving the permissions from before that change.
+     */
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<User> user = userRepository.findByName(username);
+        CustomUserDetail cached = userDetailsCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = userDetailsCache.generation();
+        long grantGeneration = roleAuthorityRegistry.generation();
+        Optional<User> user = userRepository.findWithRolesByName(username);
 
         if(user.isEmpty()) {
             throw new UsernameNotFoundException("User not found with username: " + username);
         }
-        return new CustomUserDetail(user.orElse(null));
+
+        User foundUser = user.get();
+        AuthorityGrant grant = roleAuthorityRegistry.grantFor(foundUser.getRoles(), grantGeneration);
+        CustomUserDetail userDetail = new CustomUserDetail(
+                foundUser.getId(),
+                foundUser.getName(),
+                foundUser.getPassword(),
+                foundUser.getTokenVersion() != null ? foundUser.getTokenVersion() : 0L,
+                grant.getAuthorities(),
+                grant.getPermissions()
+        );
+        userDetailsCache.put(userDetail, generation);
+        return userDetail;
     }
 }
@@ -0,0 +1,339 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.exception.ServiceUnavailableException;
+import com.example.SampleProject.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory name index for typeahead search, matching case-insensitively.
+ * <p>
+ * Prefix matches come from a sorted map of names, substring matches from trigram posting lists:
+ * the candidates are the ids present in the posting list of every trigram of the query, which are
+ * then checked against the name. Results are ranked exact match first, then prefix matches, then
+ * matches at the start of a word, then other substrings, each by name. Only the first
+ * {@link #MAX_RESULTS} hits of a query can be paged through, and substring matching checks at
+ * most {@link #MAX_CANDIDATES} names, the lowest ids of the rarest trigram; a query made only of
+ * very common trigrams ranks a sample rather than every name containing it.
+ * <p>
+ * Searches are rejected as unavailable until the owner has loaded every name and called
+ * {@link #markReady()}, rather than answering from a partial index.
+ */
+final class NameSearchIndex {
+
+    static final int MAX_RESULTS = 1000;
+    static final int MAX_CANDIDATES = 20000;
+
+    private static final long NOT_READY_RETRY_SECONDS = 5;
+
+    private static final int GRAM = 3;
+    private static final char MAX_CHAR = '\uffff';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    static final class Hit {
+        private final long id;
+        private final String name;
+
+        private Hit(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        long getId() {
+            return id;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final String folded;
+
+        private Entry(String name, String folded) {
+            this.name = name;
+            this.folded = folded;
+        }
+    }
+
+    // A substring hit waiting to be ranked; lower rank sorts first
+    private static final class Candidate {
+        private final long id;
+        private final Entry entry;
+        private final int rank;
+
+        private Candidate(long id, Entry entry, int rank) {
+            this.id = id;
+            this.entry = entry;
+            this.rank = rank;
+        }
+    }
+
+    private static final Comparator<Candidate> BY_RANK = Comparator
+            .comparingInt((Candidate candidate) -> candidate.rank)
+            .thenComparing(candidate -> candidate.entry.folded)
+            .thenComparingLong(candidate -> candidate.id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    // Folded name + NUL + id, so that equal names stay distinct and sort by name first
+    private final NavigableMap<String, Long> byName = new TreeMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * Index a name, replacing the previous name of the same id
+     */
+    void put(long id, String name) {
+        if (name == null) {
+            return;
+        }
+        Entry entry = new Entry(name, fold(name));
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            byName.put(sortKey(entry.folded, id), id);
+            for (long gram : grams(entry.folded)) {
+                postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Start answering searches; called once the initial load is complete
+     */
+    void markReady() {
+        ready = true;
+    }
+
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * One page of ranked hits; the cursor is an opaque position within the ranking
+     */
+    CursorPage<Hit> search(String query, String cursor, Integer size) {
+        int pageSize = KeysetPagination.checkSize(size);
+        int offset = decodeOffset(cursor);
+        String folded = query != null ? fold(query.trim()) : "";
+        if (folded.isEmpty()) {
+            throw new ValidationException("Invalid search",
+                    Collections.singletonMap("q", "Search text is required"));
+        }
+        if (!ready) {
+            throw new ServiceUnavailableException("Search index is still being built",
+                    NOT_READY_RETRY_SECONDS, "SEARCH_INDEX_NOT_READY");
+        }
+
+        // One extra hit tells whether there is a next page
+        int limit = Math.min(offset + pageSize + 1, MAX_RESULTS);
+        List<Hit> ranked = new ArrayList<>(Math.min(limit, 256));
+        lock.readLock().lock();
+        try {
+            // Prefix matches in name order; an exact match is the shortest and sorts first
+            for (Long id : byName.subMap(folded, true, folded + MAX_CHAR, false).values()) {
+                if (ranked.size() >= limit) {
+                    break;
+                }
+                ranked.add(new Hit(id, entries.get(id).name));
+            }
+            if (ranked.size() < limit && folded.length() >= GRAM) {
+                for (Candidate candidate : substringMatches(folded, limit - ranked.size())) {
+                    ranked.add(new Hit(candidate.id, candidate.entry.name));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int from = Math.min(offset, ranked.size());
+        int to = Math.min(offset + pageSize, ranked.size());
+        String next = ranked.size() > offset + pageSize ? encodeOffset(offset + pageSize) : null;
+        return new CursorPage<>(new ArrayList<>(ranked.subList(from, to)), next, pageSize);
+    }
+
+    Map<String, Object> getMetrics() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("ready", ready);
+            metrics.put("entries", entries.size());
+            metrics.put("trigrams", postings.size());
+            return metrics;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best non-prefix substring hits, at most limit of them, in rank order
+    private List<Candidate> substringMatches(String folded, int limit) {
+        Set<Long> grams = grams(folded);
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (long gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return Collections.emptyList();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        // Bounded max-heap: the worst of the best hits so far is on top
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+        Postings smallest = lists.get(0);
+        int candidates = Math.min(smallest.size, MAX_CANDIDATES);
+        for (int i = 0; i < candidates; i++) {
+            long id = smallest.ids[i];
+            if (!inAll(lists, id)) {
+                continue;
+            }
+            Entry entry = entries.get(id);
+            int at = entry.folded.indexOf(folded);
+            if (at <= 0) {
+                // Not a real substring match, or a prefix match that was already listed
+                continue;
+            }
+            boolean wordStart = !Character.isLetterOrDigit(entry.folded.charAt(at - 1));
+            best.add(new Candidate(id, entry, wordStart ? 0 : 1));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Candidate> matches = new ArrayList<>(best);
+        matches.sort(BY_RANK);
+        return matches;
+    }
+
+    private static boolean inAll(List<Postings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unindex(long id, Entry entry) {
+        byName.remove(sortKey(entry.folded, id));
+        for (long gram : grams(entry.folded)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<Long> grams(String folded) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(((long) folded.charAt(i) << 32) | ((long) folded.charAt(i + 1) << 16) | folded.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static String sortKey(String folded, long id) {
+        return folded + '\u0000' + id;
+    }
+
+    private static String encodeOffset(int offset) {
+        return ENCODER.encodeToString(("s:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String position = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            if (position.startsWith("s:")) {
+                int offset = Integer.parseInt(position.substring(2));
+                if (offset >= 0 && offset < MAX_RESULTS) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number; reported below
+        }
+        throw new ValidationException("Invalid cursor",
+                Collections.singletonMap("cursor", "Cursor is malformed or was not issued by a search"));
+    }
+
+    /**
+     * Sorted ids of the names containing one trigram. Ids mostly arrive in increasing order,
+     * so adding is usually an append.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int at = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                at = -at - 1;
+            } else if (at < size) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.model.Permission;
+import com.example.SampleProject.repository.PermissionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Name index of all permissions, built once the application has started. Permissions are only
+ * created by the seeders, which run before it is built.
+ */
+@Component
+public class PermissionSearchIndex implements MetricsSource {
+
+    private final PermissionRepository permissionRepository;
+    private final NameSearchIndex index = new NameSearchIndex();
+
+    public PermissionSearchIndex(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        for (Permission permission : permissionRepository.findAll()) {
+            index.put(permission.getId(), permission.getName());
+        }
+        index.markReady();
+    }
+
+    CursorPage<NameSearchIndex.Hit> search(String query, String cursor, Integer size) {
+        return index.search(query, cursor, size);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "permissionSearchIndex";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        return index.getMetrics();
+    }
+}
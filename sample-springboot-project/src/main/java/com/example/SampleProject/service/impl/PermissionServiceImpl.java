@@ -1,37 +1,45 @@
 package com.example.SampleProject.service.impl;
 
+import com.example.SampleProject.dto.CursorPage;
 import com.example.SampleProject.dto.PermissionDto;
 import com.example.SampleProject.exception.RecordNotFoundException;
 import com.example.SampleProject.model.Permission;
 import com.example.SampleProject.repository.PermissionRepository;
 import com.example.SampleProject.service.PermissionService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class PermissionServiceImpl implements PermissionService {
+    private static final String PERMISSION_TAG = "permission";
+
     private final PermissionRepository permissionRepository;
+    private final PermissionSearchIndex permissionSearchIndex;
+    private final CollectionVersions collectionVersions;
 
-    public PermissionServiceImpl(PermissionRepository permissionRepository) {
+    public PermissionServiceImpl(PermissionRepository permissionRepository,
+                                 PermissionSearchIndex permissionSearchIndex,
+                                 CollectionVersions collectionVersions) {
         this.permissionRepository = permissionRepository;
+        this.permissionSearchIndex = permissionSearchIndex;
+        this.collectionVersions = collectionVersions;
     }
 
     @Override
-    public List<PermissionDto> getAll() {
-        List<Permission> permissionList = permissionRepository.findAll();
-        List<PermissionDto> permissionDtoList = new ArrayList<>();
-
-        for (Permission permission : permissionList) {
-            PermissionDto permissionDto = toDto(permission);
-            permissionDtoList.add(permissionDto);
-        }
-        return permissionDtoList;
+    @Transactional(readOnly = true)
+    public CursorPage<PermissionDto> getPage(String cursor, Integer size, String sort) {
+        return KeysetPagination.page(permissionRepository, cursor, size, sort,
+                Permission::getId, Permission::getName, this::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PermissionDto findById(Long id) {
         Optional<Permission> optionalPermission = permissionRepository.findById(id);
 
@@ -43,6 +51,42 @@ public class PermissionServiceImpl implements PermissionService {
         }
     }
 
+    @Override
+    public String getETag(Long id) {
+        return permissionRepository.findVersionById(id)
+                .map(version -> ETags.item(PERMISSION_TAG, id, version))
+                .orElseThrow(() -> new RecordNotFoundException(String.format("Permission not found for id => %d", id)));
+    }
+
+    @Override
+    public String getCollectionETag() {
+        return ETags.collection(PERMISSION_TAG, collectionVersions.current(CollectionVersions.Kind.PERMISSIONS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PermissionDto> search(String query, String cursor, Integer size) {
+        CursorPage<NameSearchIndex.Hit> hits = permissionSearchIndex.search(query, cursor, size);
+        List<Long> ids = new ArrayList<>(hits.getItems().size());
+        for (NameSearchIndex.Hit hit : hits.getItems()) {
+            ids.add(hit.getId());
+        }
+
+        // Loaded from the second-level cache, then put back in ranking order
+        Map<Long, Permission> permissions = new HashMap<>();
+        for (Permission permission : permissionRepository.findAllById(ids)) {
+            permissions.put(permission.getId(), permission);
+        }
+        List<PermissionDto> items = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Permission permission = permissions.get(id);
+            if (permission != null) {
+                items.add(toDto(permission));
+            }
+        }
+        return new CursorPage<>(items, hits.getNext(), hits.getSize());
+    }
+
     public PermissionDto toDto(Permission permission) {
         return PermissionDto.builder()
                 .id(permission.getId())
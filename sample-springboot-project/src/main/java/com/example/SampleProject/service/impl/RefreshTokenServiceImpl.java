@@ -0,0 +1,116 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.IssuedRefreshToken;
+import com.example.SampleProject.exception.TokenRefreshException;
+import com.example.SampleProject.model.RefreshToken;
+import com.example.SampleProject.repository.RefreshTokenRepository;
+import com.example.SampleProject.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration:1209600000}") // 14 days in milliseconds
+    private long refreshExpiration;
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    @Transactional
+    public IssuedRefreshToken issue(String username) {
+        Instant now = Instant.now();
+        refreshTokenRepository.deleteExpiredByUsername(username, now);
+
+        String token = newToken();
+        refreshTokenRepository.save(newRefreshToken(token, username, UUID.randomUUID().toString(), now));
+        return new IssuedRefreshToken(username, token);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public IssuedRefreshToken rotate(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .orElseThrow(() -> new TokenRefreshException("Refresh token is not recognised"));
+
+        if (current.getRevoked()) {
+            // A rotated token was presented again: assume it was stolen and end the whole session
+            log.warn("Refresh token reuse detected for user {}, revoking session {}",
+                    current.getUsername(), current.getFamilyId());
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            throw new TokenRefreshException("Refresh token has already been used", "REFRESH_TOKEN_REUSED");
+        }
+
+        Instant now = Instant.now();
+        if (current.getExpiresAt().isBefore(now)) {
+            current.setRevoked(true);
+            throw new TokenRefreshException("Refresh token has expired", "REFRESH_TOKEN_EXPIRED");
+        }
+
+        String token = newToken();
+        RefreshToken successor = newRefreshToken(token, current.getUsername(), current.getFamilyId(), now);
+        current.setRevoked(true);
+        current.setReplacedByHash(successor.getTokenHash());
+        refreshTokenRepository.save(successor);
+
+        return new IssuedRefreshToken(current.getUsername(), token);
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAll(String username) {
+        refreshTokenRepository.revokeAllByUsername(username);
+    }
+
+    private RefreshToken newRefreshToken(String token, String username, String familyId, Instant now) {
+        return RefreshToken.builder()
+                .tokenHash(hash(token))
+                .username(username)
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plusMillis(refreshExpiration))
+                .revoked(false)
+                .build();
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return URL_ENCODER.encodeToString(bytes);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return URL_ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,25 +1,75 @@
 package com.example.SampleProject.service.impl;
 
+import com.example.SampleProject.config.security.RoleAuthorityRegistry;
+import com.example.SampleProject.config.security.TokenVersionRegistry;
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.dto.PermissionMatrixDto;
+import com.example.SampleProject.dto.PermissionMatrixResult;
 import com.example.SampleProject.dto.RoleDto;
 import com.example.SampleProject.exception.RecordNotFoundException;
+import com.example.SampleProject.model.ChangeLogEntry;
 import com.example.SampleProject.model.Permission;
 import com.example.SampleProject.model.Role;
+import com.example.SampleProject.repository.PermissionRepository;
 import com.example.SampleProject.repository.RoleRepository;
 import com.example.SampleProject.service.RoleService;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManagerFactory;
 import java.util.*;
 
 @Service
 public class RoleServiceImpl implements RoleService {
 
+    private static final String ROLE_TAG = "role";
+    private static final String ROLE_PERMISSIONS_ROLE = Role.class.getName() + ".permissions";
+    private static final String LOCK_ROLES = "SELECT id FROM roles WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    private static final String SELECT_ROLE_PERMISSIONS =
+            "SELECT role_id, permission_id FROM role_permissions WHERE role_id IN (:roleIds)";
+    private static final String INSERT_ROLE_PERMISSION =
+            "INSERT INTO role_permissions (role_id, permission_id) VALUES (?, ?)";
+    private static final String DELETE_ROLE_PERMISSION =
+            "DELETE FROM role_permissions WHERE role_id = ? AND permission_id = ?";
+
     private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeLogWriter changeLogWriter;
+    private final CollectionVersions collectionVersions;
 
-    public RoleServiceImpl(RoleRepository roleRepository) {
+    public RoleServiceImpl(RoleRepository roleRepository,
+                           PermissionRepository permissionRepository,
+                           TokenVersionRegistry tokenVersionRegistry,
+                           RoleAuthorityRegistry roleAuthorityRegistry,
+                           JdbcTemplate jdbcTemplate,
+                           NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                           EntityManagerFactory entityManagerFactory,
+                           ChangeLogWriter changeLogWriter,
+                           CollectionVersions collectionVersions) {
         this.roleRepository = roleRepository;
+        this.permissionRepository = permissionRepository;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.changeLogWriter = changeLogWriter;
+        this.collectionVersions = collectionVersions;
     }
 
+    @Transactional
     @Override
     public RoleDto addRole(RoleDto roleDto) {
         Role role = toEntity(roleDto);
@@ -36,24 +86,25 @@ public class RoleServiceImpl implements RoleService {
         }
         // Save the role (either the existing one or the new one)
         Role addedRole = roleRepository.save(existingRole.get());
+        // Only existing roles are saved here, so this is an update in the feed
+        changeLogWriter.record(ChangeLogEntry.EntityType.ROLE, ChangeLogEntry.Operation.UPDATE, addedRole.getId());
+        collectionVersions.touch(CollectionVersions.Kind.ROLES);
+        tokenVersionRegistry.revokeRoleHolders(addedRole.getId());
+        roleAuthorityRegistry.invalidate();
         return toDto(addedRole);
     }
 
     @Override
-    public List<RoleDto> getAll() {
-        List<Role> roleList = roleRepository.findAll();
-        List<RoleDto> roleDtoList = new ArrayList<>();
-
-        for (Role role : roleList) {
-            RoleDto roleDto = toDto(role);
-            roleDtoList.add(roleDto);
-        }
-        return roleDtoList;
+    @Transactional(readOnly = true)
+    public CursorPage<RoleDto> getPage(String cursor, Integer size, String sort) {
+        return KeysetPagination.page(roleRepository, cursor, size, sort,
+                Role::getId, Role::getName, this::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RoleDto findById(Long id) {
-        Optional<Role> optionalRole = roleRepository.findById(id);
+        Optional<Role> optionalRole = roleRepository.findWithPermissionsById(id);
 
         if (optionalRole.isPresent()) {
             Role role = optionalRole.get();
@@ -63,50 +114,175 @@ public class RoleServiceImpl implements RoleService {
         }
     }
 
+    /**
+     * Grants the incoming permissions to the role and revokes those sent with {@code value = false}.
+     * Permissions not mentioned are left as they are; the shared permission rows are never modified.
+     * A role changed since the client read it is rejected, by {@code If-Match} or at flush.
+     */
     @Transactional
     @Override
-    public RoleDto updateRole(Long id, RoleDto roleDto) {
-        Role role = toEntity(roleDto);
-        Optional<Role> optionalRole = roleRepository.findById(id);
-        int count = 0;
+    public RoleDto updateRole(Long id, RoleDto roleDto, String ifMatch) {
+        Role existingRole = roleRepository.findWithPermissionsById(id)
+                .orElseThrow(() -> new RecordNotFoundException(String.format("Role not found for id => %d", id)));
+        ETags.checkIfMatch(ifMatch, ETags.item(ROLE_TAG, id, existingRole.getVersion()), "Role " + id);
 
-        if (optionalRole.isPresent()) {
-            Role existingRole = optionalRole.get();
-
-            Set<Permission> existingPerValues = existingRole.getPermissions();
-            Set<Permission> newPerValues = roleDto.getPermissions();
-            Set<Permission> newValuesToAdd = new HashSet<>();
-
-            for (Permission newValue : newPerValues) {
-                Optional<Permission> existingValue = existingPerValues.stream()
-                        .filter(pfValue -> pfValue.getId().equals(newValue.getId())).findFirst();
-                if (existingValue.isPresent()) {
-                    Permission existingPerValue = existingValue.get();
-                    existingPerValue.setValue(newValue.getValue());
+        Set<Long> grantIds = new HashSet<>();
+        Set<Long> revokeIds = new HashSet<>();
+        if (roleDto.getPermissions() != null) {
+            for (Permission permission : roleDto.getPermissions()) {
+                if (Boolean.FALSE.equals(permission.getValue())) {
+                    revokeIds.add(permission.getId());
                 } else {
-                    newValuesToAdd.add(newValue);
-                    count++;
+                    grantIds.add(permission.getId());
                 }
             }
+        }
 
-            if (count > 0) {
-                existingPerValues.addAll(newValuesToAdd);
+        Set<Permission> permissions = existingRole.getPermissions();
+        boolean changed = permissions.removeIf(permission -> revokeIds.contains(permission.getId()));
+        for (Permission permission : permissions) {
+            grantIds.remove(permission.getId());
+        }
+        if (!grantIds.isEmpty()) {
+            List<Permission> granted = permissionRepository.findAllById(grantIds);
+            if (granted.size() != grantIds.size()) {
+                throw new RecordNotFoundException("Permission not found");
             }
+            permissions.addAll(granted);
+            changed = true;
+        }
 
-            Role updatedRole = roleRepository.save(existingRole);
-            return toDto(updatedRole);
+        if (changed) {
+            changeLogWriter.record(ChangeLogEntry.EntityType.ROLE, ChangeLogEntry.Operation.UPDATE, id);
+            collectionVersions.touch(CollectionVersions.Kind.ROLES);
+            tokenVersionRegistry.revokeRoleHolders(id);
+            roleAuthorityRegistry.invalidate();
         }
-        else {
-            throw new RecordNotFoundException(String.format("Role not found for id => %d", id));
+        return toDto(existingRole);
+    }
+
+    /**
+     * Replaces the permissions of every role in the matrix with exactly the given ones. Only the
+     * differences are written, as batched inserts and deletes on the join table; roles without
+     * changes are not touched and their holders keep their tokens.
+     * <p>
+     * The listed roles are locked before their grants are read, so concurrent matrices for the same
+     * roles are diffed one after the other instead of inserting the same grant twice.
+     */
+    @Transactional
+    @Override
+    public PermissionMatrixResult applyPermissionMatrix(PermissionMatrixDto matrix) {
+        Map<Long, Set<Long>> desired = matrix.getGrants();
+        Set<Long> roleIds = desired.keySet();
+        Set<Long> permissionIds = new HashSet<>();
+        for (Set<Long> granted : desired.values()) {
+            if (granted != null) {
+                permissionIds.addAll(granted);
+            }
+        }
+        lockRoles(roleIds);
+        checkAllExist("permissions", "Permission", permissionIds);
+
+        Map<Long, Set<Long>> current = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_ROLE_PERMISSIONS,
+                Collections.singletonMap("roleIds", roleIds),
+                (RowCallbackHandler) rs -> current.computeIfAbsent(rs.getLong("role_id"), key -> new HashSet<>())
+                        .add(rs.getLong("permission_id")));
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        Set<Long> changedRoleIds = new HashSet<>();
+        for (Map.Entry<Long, Set<Long>> entry : desired.entrySet()) {
+            Long roleId = entry.getKey();
+            Set<Long> wanted = entry.getValue() != null ? entry.getValue() : Collections.emptySet();
+            Set<Long> held = current.getOrDefault(roleId, Collections.emptySet());
+            for (Long permissionId : wanted) {
+                if (!held.contains(permissionId)) {
+                    inserts.add(new Object[]{roleId, permissionId});
+                    changedRoleIds.add(roleId);
+                }
+            }
+            for (Long permissionId : held) {
+                if (!wanted.contains(permissionId)) {
+                    deletes.add(new Object[]{roleId, permissionId});
+                    changedRoleIds.add(roleId);
+                }
+            }
+        }
+
+        if (!changedRoleIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ROLE_PERMISSION, deletes);
+            jdbcTemplate.batchUpdate(INSERT_ROLE_PERMISSION, inserts);
+
+            // The join table was written past Hibernate, so cached permission collections are dropped too
+            roleRepository.incrementVersions(changedRoleIds);
+            changeLogWriter.recordAll(ChangeLogEntry.EntityType.ROLE, ChangeLogEntry.Operation.UPDATE, changedRoleIds);
+            collectionVersions.touch(CollectionVersions.Kind.ROLES);
+            evictCachedPermissions(changedRoleIds);
+            tokenVersionRegistry.revokeRoleHolders(changedRoleIds);
+            roleAuthorityRegistry.invalidate();
         }
+        return new PermissionMatrixResult(changedRoleIds.size(), inserts.size(), deletes.size());
     }
 
+    @Override
+    public String getETag(Long id) {
+        return roleRepository.findVersionById(id)
+                .map(version -> ETags.item(ROLE_TAG, id, version))
+                .orElseThrow(() -> new RecordNotFoundException(String.format("Role not found for id => %d", id)));
+    }
+
+    @Override
+    public String getCollectionETag() {
+        return ETags.collection(ROLE_TAG, collectionVersions.current(CollectionVersions.Kind.ROLES));
+    }
+
+    // In id order, so two transactions locking overlapping roles cannot deadlock
+    private void lockRoles(Set<Long> roleIds) {
+        checkFound("Role", roleIds, namedParameterJdbcTemplate.queryForList(
+                LOCK_ROLES, Collections.singletonMap("ids", roleIds), Long.class));
+    }
+
+    private void checkAllExist(String table, String resourceName, Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        checkFound(resourceName, ids, namedParameterJdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE id IN (:ids)",
+                Collections.singletonMap("ids", ids), Long.class));
+    }
+
+    private static void checkFound(String resourceName, Set<Long> ids, List<Long> found) {
+        Set<Long> missing = new HashSet<>(ids);
+        missing.removeAll(found);
+        if (!missing.isEmpty()) {
+            throw new RecordNotFoundException(resourceName, "id", missing);
+        }
+    }
+
+    private void evictCachedPermissions(Collection<Long> roleIds) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Runnable evict = () -> {
+            for (Long roleId : roleIds) {
+                cache.evictCollectionData(ROLE_PERMISSIONS_ROLE, roleId);
+            }
+        };
+        // Once now for this transaction, and again after commit in case a concurrent reader re-cached old rows
+        evict.run();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict.run();
+            }
+        });
+    }
 
+    // Copies the permissions so the DTO can be serialised after the session is closed
     public RoleDto toDto(Role role) {
         return RoleDto.builder()
                 .id(role.getId())
                 .name(role.getName())
-                .permissions(role.getPermissions())
+                .permissions(new HashSet<>(role.getPermissions()))
                 .build();
     }
 
@@ -0,0 +1,258 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.config.security.PasswordHashingExecutor;
+import com.example.SampleProject.dto.BulkImportReport;
+import com.example.SampleProject.dto.ExportFormat;
+import com.example.SampleProject.dto.UserDto;
+import com.example.SampleProject.exception.ErrorLogLimiter;
+import com.example.SampleProject.model.ChangeLogEntry;
+import com.example.SampleProject.model.Role;
+import com.example.SampleProject.repository.RoleRepository;
+import com.example.SampleProject.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports uploaded users in chunks. Each chunk is checked against existing names with one select,
+ * its passwords are hashed in parallel outside any transaction, and it is written in one short
+ * transaction of JDBC batch inserts. The unique index on {@code users.name} is the final arbiter:
+ * if a concurrent signup takes a name after the check, the chunk is retried row by row.
+ */
+@Component
+public class UserBulkImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserBulkImporter.class);
+
+    private static final String INSERT_USER = "INSERT INTO users (name, password, token_version) VALUES (?, ?, 0)";
+    private static final String SELECT_IDS = "SELECT id, name FROM users WHERE name IN (:names)";
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDetailsCache userDetailsCache;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ErrorLogLimiter errorLogLimiter;
+    private final UserSearchIndex userSearchIndex;
+    private final ChangeLogWriter changeLogWriter;
+    private final CollectionVersions collectionVersions;
+    private final int chunkSize;
+
+    public UserBulkImporter(UserRepository userRepository,
+                            RoleRepository roleRepository,
+                            PasswordHashingExecutor passwordHashingExecutor,
+                            BCryptPasswordEncoder bCryptPasswordEncoder,
+                            JdbcTemplate jdbcTemplate,
+                            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            UserDetailsCache userDetailsCache,
+                            Validator validator,
+                            ObjectMapper objectMapper,
+                            ErrorLogLimiter errorLogLimiter,
+                            UserSearchIndex userSearchIndex,
+                            ChangeLogWriter changeLogWriter,
+                            CollectionVersions collectionVersions,
+                            @Value("${app.user-import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userDetailsCache = userDetailsCache;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.errorLogLimiter = errorLogLimiter;
+        this.userSearchIndex = userSearchIndex;
+        this.changeLogWriter = changeLogWriter;
+        this.collectionVersions = collectionVersions;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkImportReport importUsers(ExportFormat format, InputStream inputStream) throws IOException {
+        // Roles are resolved once for the whole upload
+        Map<String, Long> roleIds = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            roleIds.put(role.getName(), role.getId());
+        }
+
+        BulkImportReport report = new BulkImportReport();
+        Set<String> namesInUpload = new HashSet<>();
+        List<BulkUserReader.Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BulkUserReader reader = BulkUserReader.create(format, inputStream, objectMapper)) {
+            BulkUserReader.Row row;
+            while ((row = reader.next()) != null) {
+                String error = row.error != null ? row.error : validate(row, roleIds);
+                if (error != null) {
+                    report.add(row.number, row.name, BulkImportReport.Status.INVALID, error);
+                } else if (!namesInUpload.add(row.name)) {
+                    report.add(row.number, row.name, BulkImportReport.Status.DUPLICATE,
+                            "Name appears earlier in the upload");
+                } else {
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        importChunk(chunk, roleIds, report);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, roleIds, report);
+        }
+
+        report.getRows().sort(Comparator.comparingInt(BulkImportReport.RowResult::getRow));
+        log.info("Bulk import finished: {} rows, {} created, {} rejected, {} failed",
+                report.getTotal(), report.getCreated(), report.getRejected(), report.getFailed());
+        return report;
+    }
+
+    // Same constraints as a single signup, plus every role must exist
+    private String validate(BulkUserReader.Row row, Map<String, Long> roleIds) {
+        UserDto userDto = UserDto.builder()
+                .name(row.name)
+                .password(row.password)
+                .build();
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(userDto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        for (String roleName : row.roleNames) {
+            if (!roleIds.containsKey(roleName)) {
+                return "Role not found: " + roleName;
+            }
+        }
+        return null;
+    }
+
+    private void importChunk(List<BulkUserReader.Row> chunk, Map<String, Long> roleIds, BulkImportReport report) {
+        Set<String> existingNames = new HashSet<>(userRepository.findExistingNames(userNames(chunk)));
+
+        List<BulkUserReader.Row> newRows = new ArrayList<>(chunk.size());
+        List<String> rawPasswords = new ArrayList<>(chunk.size());
+        for (BulkUserReader.Row row : chunk) {
+            if (existingNames.contains(row.name)) {
+                report.add(row.number, row.name, BulkImportReport.Status.DUPLICATE, "User already exists");
+            } else {
+                newRows.add(row);
+                rawPasswords.add(row.password);
+            }
+        }
+        if (newRows.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordHashingExecutor.encodeAll(rawPasswords, bCryptPasswordEncoder);
+        Map<String, Long> userIds;
+        try {
+            userIds = transactionTemplate.execute(status -> insert(newRows, hashes, roleIds));
+        } catch (DuplicateKeyException e) {
+            // A name was taken after the existence check; the unique index rejected the whole batch
+            importOneByOne(newRows, hashes, roleIds, report);
+            return;
+        } catch (DataAccessException | TransactionException e) {
+            errorLogLimiter.error(log, "BULK_IMPORT_FAILED", "Bulk import chunk failed", e);
+            for (BulkUserReader.Row row : newRows) {
+                report.add(row.number, row.name, BulkImportReport.Status.FAILED, "Could not be saved");
+            }
+            return;
+        }
+
+        for (BulkUserReader.Row row : newRows) {
+            created(row, userIds.get(row.name), report);
+        }
+    }
+
+    // Each row in its own transaction, so only the rows whose name is already taken are rejected
+    private void importOneByOne(List<BulkUserReader.Row> rows, List<String> hashes, Map<String, Long> roleIds,
+                                BulkImportReport report) {
+        for (int i = 0; i < rows.size(); i++) {
+            BulkUserReader.Row row = rows.get(i);
+            List<String> hash = Collections.singletonList(hashes.get(i));
+            try {
+                Map<String, Long> userIds = transactionTemplate.execute(
+                        status -> insert(Collections.singletonList(row), hash, roleIds));
+                created(row, userIds.get(row.name), report);
+            } catch (DuplicateKeyException e) {
+                report.add(row.number, row.name, BulkImportReport.Status.DUPLICATE, "User already exists");
+            } catch (DataAccessException | TransactionException e) {
+                errorLogLimiter.error(log, "BULK_IMPORT_FAILED", "Bulk import row failed", e);
+                report.add(row.number, row.name, BulkImportReport.Status.FAILED, "Could not be saved");
+            }
+        }
+    }
+
+    private void created(BulkUserReader.Row row, Long userId, BulkImportReport report) {
+        userDetailsCache.invalidate(row.name);
+        userSearchIndex.add(userId, row.name);
+        report.add(row.number, row.name, BulkImportReport.Status.CREATED, null);
+    }
+
+    // Returns the generated id of each inserted name
+    private Map<String, Long> insert(List<BulkUserReader.Row> rows, List<String> hashes, Map<String, Long> roleIds) {
+        List<Object[]> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            users.add(new Object[]{rows.get(i).name, hashes.get(i)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, users);
+
+        // Generated ids of the whole chunk in one select, then the role links as a second batch
+        Map<String, Long> userIds = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_IDS,
+                Collections.singletonMap("names", userNames(rows)),
+                (RowCallbackHandler) rs -> userIds.put(rs.getString("name"), rs.getLong("id")));
+
+        List<Object[]> userRoles = new ArrayList<>();
+        for (BulkUserReader.Row row : rows) {
+            Long userId = userIds.get(row.name);
+            for (String roleName : new HashSet<>(row.roleNames)) {
+                userRoles.add(new Object[]{userId, roleIds.get(roleName)});
+            }
+        }
+        if (!userRoles.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+        }
+        changeLogWriter.recordAll(ChangeLogEntry.EntityType.USER, ChangeLogEntry.Operation.CREATE, userIds.values());
+        collectionVersions.touch(CollectionVersions.Kind.USERS);
+        return userIds;
+    }
+
+    private static List<String> userNames(List<BulkUserReader.Row> rows) {
+        List<String> names = new ArrayList<>(rows.size());
+        for (BulkUserReader.Row row : rows) {
+            names.add(row.name);
+        }
+        return names;
+    }
+}
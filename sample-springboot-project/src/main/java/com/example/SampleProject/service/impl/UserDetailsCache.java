@@ -0,0 +1,150 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import com.example.SampleProject.dto.CustomUserDetail;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size and TTL bounded LRU cache of immutable user snapshots used by
+ * {@link MyUserDetailServiceImplementation}. Invalidation is deferred until the
+ * surrounding transaction commits, and snapshots loaded before an invalidation
+ * are never stored, so a stale authority set cannot outlive the change that replaced it.
+ */
+@Component
+public class UserDetailsCache implements MetricsSource {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, CachedUser> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserDetailsCache(@Value("${app.security.user-cache.max-size:10000}") int maxSize,
+                            @Value("${app.security.user-cache.ttl:300000}") long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<String, CachedUser>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if (size() > UserDetailsCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cached snapshot, or {@code null} if absent or expired
+     */
+    public CustomUserDetail get(String username) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        synchronized (entries) {
+            CachedUser cached = entries.get(username);
+            if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMillis) {
+                hits.increment();
+                return cached.userDetail;
+            }
+            if (cached != null) {
+                entries.remove(username);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Generation to pass to {@link #put} for a snapshot that is about to be loaded
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Store a snapshot unless an invalidation happened since it started loading
+     */
+    public void put(CustomUserDetail userDetail, long loadedGeneration) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            if (generation.get() == loadedGeneration) {
+                entries.put(userDetail.getUsername(), new CachedUser(userDetail, System.currentTimeMillis()));
+            }
+        }
+    }
+
+    public void invalidate(String username) {
+        afterCommit(() -> {
+            synchronized (entries) {
+                generation.incrementAndGet();
+                entries.remove(username);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        afterCommit(() -> {
+            synchronized (entries) {
+                generation.incrementAndGet();
+                entries.clear();
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "userDetailsCache";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        synchronized (entries) {
+            metrics.put("size", entries.size());
+        }
+        metrics.put("maxSize", maxSize);
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("evictions", evictions.sum());
+        return metrics;
+    }
+
+    private static final class CachedUser {
+        private final CustomUserDetail userDetail;
+        private final long loadedAt;
+
+        private CachedUser(CustomUserDetail userDetail, long loadedAt) {
+            this.userDetail = userDetail;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.ExportFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes exported users one row at a time. Nothing is retained between rows, so memory use
+ * does not depend on the number of users exported. Password hashes are never written.
+ */
+abstract class UserExportWriter {
+
+    static UserExportWriter create(ExportFormat format, OutputStream outputStream, JsonFactory jsonFactory)
+            throws IOException {
+        return format == ExportFormat.CSV
+                ? new Csv(outputStream)
+                : new NdJson(outputStream, jsonFactory);
+    }
+
+    abstract void write(long id, String name, List<String> roleNames) throws IOException;
+
+    /**
+     * Flush buffered rows; the response stream itself is left open for the container.
+     */
+    abstract void finish() throws IOException;
+
+    private static final class NdJson extends UserExportWriter {
+
+        private static final SerializedString ID = new SerializedString("id");
+        private static final SerializedString NAME = new SerializedString("name");
+        private static final SerializedString ROLES = new SerializedString("roles");
+
+        private final JsonGenerator generator;
+
+        NdJson(OutputStream outputStream, JsonFactory jsonFactory) throws IOException {
+            this.generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // One document per line, without the default space between root values
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void write(long id, String name, List<String> roleNames) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            generator.writeNumber(id);
+            generator.writeFieldName(NAME);
+            generator.writeString(name);
+            generator.writeFieldName(ROLES);
+            generator.writeStartArray();
+            for (String roleName : roleNames) {
+                generator.writeString(roleName);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class Csv extends UserExportWriter {
+
+        private final Writer writer;
+        private final StringBuilder roles = new StringBuilder();
+
+        Csv(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.writer.write("id,name,roles\n");
+        }
+
+        @Override
+        void write(long id, String name, List<String> roleNames) throws IOException {
+            roles.setLength(0);
+            for (String roleName : roleNames) {
+                if (roles.length() > 0) {
+                    roles.append(';');
+                }
+                roles.append(roleName);
+            }
+
+            writer.write(String.valueOf(id));
+            writer.write(',');
+            writeField(name);
+            writer.write(',');
+            writeField(roles);
+            writer.write('\n');
+        }
+
+        // RFC 4180 quoting, only when the value needs it
+        private void writeField(CharSequence value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.append(value);
+                return;
+            }
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
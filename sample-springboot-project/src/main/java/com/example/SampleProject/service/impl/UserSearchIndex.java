@@ -0,0 +1,86 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.config.metrics.MetricsSource;
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.repository.UserRepository;
+import com.example.SampleProject.repository.projection.UserSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Name index of all users, built once the application has started and kept current as users
+ * are registered or imported. Searches are answered with 503 until the build has finished.
+ */
+@Component
+public class UserSearchIndex implements MetricsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final NameSearchIndex index = new NameSearchIndex();
+
+    private volatile long buildMillis;
+
+    public UserSearchIndex(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        // The stream holds a server-side cursor, which must be read inside a transaction
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<UserSummary> users = userRepository.streamSummariesOrderById()) {
+                users.forEach(user -> index.put(user.getId(), user.getName()));
+            }
+        });
+        index.markReady();
+        buildMillis = System.currentTimeMillis() - start;
+        log.info("User search index built in {} ms", buildMillis);
+    }
+
+    /**
+     * Index a user once the current transaction, if any, commits
+     */
+    public void add(long id, String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            index.put(id, name);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                index.put(id, name);
+            }
+        });
+    }
+
+    CursorPage<NameSearchIndex.Hit> search(String query, String cursor, Integer size) {
+        return index.search(query, cursor, size);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "userSearchIndex";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = index.getMetrics();
+        metrics.put("buildMillis", buildMillis);
+        return metrics;
+    }
+}
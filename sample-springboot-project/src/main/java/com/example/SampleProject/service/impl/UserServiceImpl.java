@@ -1,68 +1,238 @@
 package com.example.SampleProject.service.impl;
 
+import com.example.SampleProject.config.security.PasswordHashingExecutor;
+import com.example.SampleProject.config.security.TokenVersionRegistry;
+import com.example.SampleProject.dto.BulkImportReport;
 import com.example.SampleProject.dto.RoleDto;
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.dto.ExportFormat;
 import com.example.SampleProject.dto.UserDto;
 import com.example.SampleProject.exception.RecordNotFoundException;
+import com.example.SampleProject.model.ChangeLogEntry;
 import com.example.SampleProject.model.Role;
 import com.example.SampleProject.model.User;
 import com.example.SampleProject.repository.RoleRepository;
 import com.example.SampleProject.repository.UserRepository;
+import com.example.SampleProject.repository.projection.UserRoleRow;
+import com.example.SampleProject.repository.projection.UserSummary;
+import com.example.SampleProject.service.RefreshTokenService;
 import com.example.SampleProject.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements UserService {
 
+    private static final String USER_TAG = "user";
+
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final RoleRepository roleRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ObjectMapper objectMapper;
+    private final UserBulkImporter userBulkImporter;
+    private final UserSearchIndex userSearchIndex;
+    private final ChangeLogWriter changeLogWriter;
+    private final CollectionVersions collectionVersions;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     public UserServiceImpl(UserRepository userRepository,
                            BCryptPasswordEncoder bCryptPasswordEncoder,
-                           RoleRepository roleRepository) {
+                           RoleRepository roleRepository,
+                           UserDetailsCache userDetailsCache,
+                           ObjectMapper objectMapper,
+                           UserBulkImporter userBulkImporter,
+                           UserSearchIndex userSearchIndex,
+                           ChangeLogWriter changeLogWriter,
+                           CollectionVersions collectionVersions,
+                           PasswordHashingExecutor passwordHashingExecutor,
+                           RefreshTokenService refreshTokenService,
+                           TokenVersionRegistry tokenVersionRegistry) {
         this.userRepository = userRepository;
         this.bCryptPasswordEncoder = bCryptPasswordEncoder;
         this.roleRepository = roleRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.objectMapper = objectMapper;
+        this.userBulkImporter = userBulkImporter;
+        this.userSearchIndex = userSearchIndex;
+        this.changeLogWriter = changeLogWriter;
+        this.collectionVersions = collectionVersions;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
     }
 
+    // The password is hashed before the first statement, so no connection is held meanwhile
     @Override
+    @Transactional
     public UserDto registerUser(UserDto userdto) {
         User user = toEntity(userdto);
-        user.setPassword(bCryptPasswordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingExecutor.encode(bCryptPasswordEncoder, user.getPassword()));
 
-        Set<Role> roleList = new HashSet<>();
-        for(Role role: user.getRoles()){
-            Role foundRole = roleRepository.findById(role.getId())
-                    .orElseThrow(()-> new RecordNotFoundException("Role not found"));
-            roleList.add(foundRole);
+        // One select for all requested roles instead of one per role
+        Set<Long> roleIds = new HashSet<>();
+        for (Role role : user.getRoles()) {
+            roleIds.add(role.getId());
+        }
+        Set<Role> roleList = new HashSet<>(roleRepository.findAllById(roleIds));
+        if (roleList.size() != roleIds.size()) {
+            throw new RecordNotFoundException("Role not found");
         }
         user.setRoles(roleList);
         User savedUser = userRepository.save(user);
+        changeLogWriter.record(ChangeLogEntry.EntityType.USER, ChangeLogEntry.Operation.CREATE, savedUser.getId());
+        collectionVersions.touch(CollectionVersions.Kind.USERS);
+        userDetailsCache.invalidate(savedUser.getName());
+        userSearchIndex.add(savedUser.getId(), savedUser.getName());
         return toDto(savedUser);
     }
 
     @Override
-    public List<UserDto> getAll() {
-        List<User> userList = userRepository.findAll();
-        return userList.stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getPage(String cursor, Integer size, String sort) {
+        return KeysetPagination.page(this::readSummaries, cursor, size, sort,
+                UserSummary::getId, UserSummary::getName,
+                users -> toDtos(users, UserSummary::getId, UserSummary::getName));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> search(String query, String cursor, Integer size) {
+        CursorPage<NameSearchIndex.Hit> hits = userSearchIndex.search(query, cursor, size);
+        return new CursorPage<>(toDtos(hits.getItems(), NameSearchIndex.Hit::getId, NameSearchIndex.Hit::getName),
+                hits.getNext(), hits.getSize());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto findById(Long id) {
-        User user = userRepository.findById(id)
+        User user = userRepository.findWithRolesById(id)
                 .orElseThrow(() -> new RecordNotFoundException(
                         String.format("User not found for id => %d", id)));
         return toDto(user);
     }
 
+    // Refresh tokens stop rotating and access tokens fail the token version check
+    @Override
+    @Transactional
+    public void revokeSessions(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RecordNotFoundException(
+                        String.format("User not found for id => %d", id)));
+        refreshTokenService.revokeAll(user.getName());
+        tokenVersionRegistry.revokeUser(user.getName());
+    }
+
+    @Override
+    public String getETag(Long id) {
+        return userRepository.findVersionById(id)
+                .map(version -> ETags.item(USER_TAG, id, version))
+                .orElseThrow(() -> new RecordNotFoundException(
+                        String.format("User not found for id => %d", id)));
+    }
+
+    @Override
+    public String getCollectionETag() {
+        return ETags.collection(USER_TAG, collectionVersions.current(CollectionVersions.Kind.USERS));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(ExportFormat format, OutputStream outputStream) throws IOException {
+        UserExportWriter exportWriter = UserExportWriter.create(format, outputStream, objectMapper.getFactory());
+
+        // Scalar rows are not managed by the persistence context, so nothing accumulates while streaming
+        try (Stream<UserRoleRow> rows = userRepository.streamRoleRowsOrderByUserId()) {
+            Iterator<UserRoleRow> iterator = rows.iterator();
+            Long userId = null;
+            String userName = null;
+            List<String> roleNames = new ArrayList<>();
+
+            while (iterator.hasNext()) {
+                UserRoleRow row = iterator.next();
+                if (userId != null && !userId.equals(row.getUserId())) {
+                    exportWriter.write(userId, userName, roleNames);
+                    roleNames.clear();
+                }
+                userId = row.getUserId();
+                userName = row.getUserName();
+                if (row.getRoleName() != null) {
+                    roleNames.add(row.getRoleName());
+                }
+            }
+            if (userId != null) {
+                exportWriter.write(userId, userName, roleNames);
+            }
+        }
+        exportWriter.finish();
+    }
+
+    @Override
+    public BulkImportReport importUsers(ExportFormat format, InputStream inputStream) throws IOException {
+        // Not transactional: the importer commits chunk by chunk so one bad chunk does not undo the rest
+        return userBulkImporter.importUsers(format, inputStream);
+    }
+
+    private List<UserSummary> readSummaries(KeysetPagination.SortKey sortKey, Long afterId, String afterName, Pageable limit) {
+        if (sortKey == KeysetPagination.SortKey.ID) {
+            return userRepository.findSummaryPageOrderById(afterId != null ? afterId : 0L, limit);
+        }
+        return afterId == null
+                ? userRepository.findFirstSummaryPageOrderByName(limit)
+                : userRepository.findSummaryPageOrderByName(afterName, afterId, limit);
+    }
+
+    // Roles of every user on the page are read in one select rather than one per user
+    private <S> List<UserDto> toDtos(List<S> users, Function<S, Long> idOf, Function<S, String> nameOf) {
+        if (users.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> userIds = new ArrayList<>(users.size());
+        for (S user : users) {
+            userIds.add(idOf.apply(user));
+        }
+        Map<Long, Set<RoleDto>> rolesByUser = new HashMap<>();
+        for (UserRoleRow row : userRepository.findRoleRowsByUserIdIn(userIds)) {
+            rolesByUser.computeIfAbsent(row.getUserId(), key -> new HashSet<>())
+                    .add(RoleDto.builder()
+                            .id(row.getRoleId())
+                            .name(row.getRoleName())
+                            .build());
+        }
+
+        List<UserDto> userDtos = new ArrayList<>(users.size());
+        for (S user : users) {
+            Long userId = idOf.apply(user);
+            userDtos.add(UserDto.builder()
+                    .id(userId)
+                    .name(nameOf.apply(user))
+                    .roles(rolesByUser.getOrDefault(userId, new HashSet<>()))
+                    .build());
+        }
+        return userDtos;
+    }
+
     // Convert User entity to UserDto
     public UserDto toDto(User user) {
         Set<RoleDto> roleDtos = user.getRoles().stream()
@@ -72,7 +242,6 @@ public class UserServiceImpl implements UserService {
         return UserDto.builder()
                 .id(user.getId())
                 .name(user.getName())
-                .password(user.getPassword()) // Consider not exposing password in DTO
                 .roles(roleDtos)
                 .build();
     }
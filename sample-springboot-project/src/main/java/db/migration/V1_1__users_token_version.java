@@ -0,0 +1,38 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds {@code users.token_version} to databases created by {@code ddl-auto=update} before the column
+ * existed. Those are baselined below V1, whose {@code CREATE TABLE IF NOT EXISTS} leaves their users
+ * table as it is, and V2 indexes the column. Databases created by V1, or updated by Hibernate after
+ * the column was mapped, already have it.
+ * <p>
+ * Written in Java because MySQL has no {@code ADD COLUMN IF NOT EXISTS}.
+ */
+public class V1_1__users_token_version extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (hasColumn(connection, "users", "token_version")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE users ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0");
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData()
+                .getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+            return columns.next();
+        }
+    }
+}
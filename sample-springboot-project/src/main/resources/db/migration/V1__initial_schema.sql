@@ -0,0 +1,52 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). IF NOT EXISTS keeps this
+-- a no-op on databases that were created that way and are baselined on first migration.
+
+CREATE TABLE IF NOT EXISTS permissions (
+    id    BIGINT       NOT NULL AUTO_INCREMENT,
+    name  VARCHAR(255),
+    value BIT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS roles (
+    id   BIGINT       NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS role_permissions (
+    role_id       BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, permission_id),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_id) REFERENCES roles (id),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255),
+    password      VARCHAR(255),
+    token_version BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    token_hash       VARCHAR(255) NOT NULL,
+    username         VARCHAR(255) NOT NULL,
+    family_id        VARCHAR(255) NOT NULL,
+    created_at       DATETIME(6)  NOT NULL,
+    expires_at       DATETIME(6)  NOT NULL,
+    revoked          BIT          NOT NULL,
+    replaced_by_hash VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT ux_refresh_tokens_token_hash UNIQUE (token_hash)
+) ENGINE = InnoDB;
@@ -0,0 +1,18 @@
+-- Names are looked up on every login and role/permission check. Unique indexes turn those
+-- full scans into point lookups and stop duplicate names at the database.
+-- Fails if duplicate names already exist; remove them before upgrading.
+CREATE UNIQUE INDEX ux_users_name ON users (name);
+CREATE UNIQUE INDEX ux_roles_name ON roles (name);
+CREATE UNIQUE INDEX ux_permissions_name ON permissions (name);
+
+-- Covers UserRepository.findTokenVersionByName, checked on every claims-based request
+CREATE INDEX ix_users_name_token_version ON users (name, token_version);
+
+-- The primary keys serve lookups from the owning side; these cover the reverse direction,
+-- e.g. revoking the tokens of every holder of a role
+CREATE INDEX ix_user_roles_role_user ON user_roles (role_id, user_id);
+CREATE INDEX ix_role_permissions_permission_role ON role_permissions (permission_id, role_id);
+
+-- Refresh token revocation and clean-up by user and by rotation family
+CREATE INDEX ix_refresh_tokens_username_expires_at ON refresh_tokens (username, expires_at);
+CREATE INDEX ix_refresh_tokens_family_id ON refresh_tokens (family_id);
@@ -0,0 +1,9 @@
+-- Append-only feed of user and role changes, read in id order by /api/changes
+CREATE TABLE change_log (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    operation   VARCHAR(16) NOT NULL,
+    recorded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
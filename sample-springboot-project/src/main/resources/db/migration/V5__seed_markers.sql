@@ -0,0 +1,6 @@
+-- One row per completed data seed, written after its last batch so an interrupted seed is detectable
+CREATE TABLE seed_markers (
+    name         VARCHAR(64) NOT NULL,
+    completed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- Single row locked by every transaction that appends to change_log, from the append until commit.
+-- Appends therefore commit in sequence order, and a reader of change_log never sees a sequence
+-- number before an earlier one that is still to commit.
+CREATE TABLE change_log_lock (
+    id INT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO change_log_lock (id) VALUES (1);
@@ -0,0 +1,9 @@
+-- One counter per listed collection, bumped by every transaction that writes to the collection.
+-- Collection ETags are read from it by primary key instead of aggregating the whole table.
+CREATE TABLE collection_versions (
+    name    VARCHAR(16) NOT NULL,
+    version BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO collection_versions (name, version) VALUES ('USERS', 0), ('ROLES', 0), ('PERMISSIONS', 0);
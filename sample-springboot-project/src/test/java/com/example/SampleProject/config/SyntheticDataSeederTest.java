@@ -0,0 +1,90 @@
+package com.example.SampleProject.config;
+
+import com.example.SampleProject.config.security.PermissionRegistry;
+import com.example.SampleProject.service.impl.CollectionVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SyntheticDataSeederTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PermissionRegistry permissionRegistry;
+
+    @Autowired
+    CollectionVersions collectionVersions;
+
+    SyntheticDataSeeder seeder;
+
+    @BeforeEach
+    void setUp() {
+        // Batches smaller than each table, so ids are read back across several batches
+        seeder = new SyntheticDataSeeder(jdbcTemplate, namedParameterJdbcTemplate, transactionTemplate,
+                passwordEncoder, entityManagerFactory, permissionRegistry, collectionVersions,
+                25, 4, 12, 5, "password123", 42);
+        seeder.run();
+    }
+
+    @Test
+    void seedsOnceAndLinksRowsByTheirAssignedIds() {
+        seeder.run();
+
+        assertThat(count("SELECT COUNT(*) FROM users WHERE name LIKE 'syn-user-%'")).isEqualTo(25);
+        assertThat(count("SELECT COUNT(*) FROM roles WHERE name LIKE 'SYN_ROLE_%'")).isEqualTo(4);
+        assertThat(count("SELECT COUNT(*) FROM permissions WHERE name LIKE 'SYN_PERMISSION_%'")).isEqualTo(12);
+        assertThat(count("SELECT COUNT(*) FROM seed_markers WHERE name = 'synthetic-data'")).isEqualTo(1);
+
+        assertThat(count("SELECT COUNT(*) FROM users u WHERE u.name LIKE 'syn-user-%' "
+                + "AND NOT EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.id = ur.role_id "
+                + "WHERE ur.user_id = u.id AND r.name LIKE 'SYN_ROLE_%')")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM role_permissions rp JOIN roles r ON r.id = rp.role_id "
+                + "JOIN permissions p ON p.id = rp.permission_id "
+                + "WHERE r.name LIKE 'SYN_ROLE_%' AND p.name NOT LIKE 'SYN_PERMISSION_%'")).isZero();
+    }
+
+    @Test
+    void interruptedSeedIsNotMistakenForACompleteOne() {
+        jdbcTemplate.update("DELETE FROM seed_markers WHERE name = ?", SyntheticDataSeeder.MARKER);
+        try {
+            assertThatThrownBy(seeder::run)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("interrupted");
+        } finally {
+            jdbcTemplate.update("INSERT INTO seed_markers (name, completed_at) VALUES (?, ?)",
+                    SyntheticDataSeeder.MARKER, new Timestamp(System.currentTimeMillis()));
+        }
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.SampleProject.config.datasource;
+
+import com.example.SampleProject.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every statement counts as slow here, so each one is reported with its origin. The second-level
+ * cache is off because its Ehcache manager is shared with the other contexts.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.slow-query-threshold-ms=0",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+class RepositoryMethodTrackerTest {
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    StatementTimingDataSource statementTimingDataSource;
+
+    @Test
+    void statementsAreAttributedToTheDeclaredRepositoryInterface(CapturedOutput output) {
+        userRepository.findByName("admin");
+        userRepository.count();
+
+        assertThat(slowByOrigin()).containsKeys("UserRepository.findByName", "UserRepository.count");
+        assertThat(output).contains("from UserRepository.findByName: ");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> slowByOrigin() {
+        return (Map<String, Object>) statementTimingDataSource.getMetrics().get("slowByOrigin");
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issue and verify through {@link JwtCodec} against the jjwt builder and parser it replaced, with
+ * the same claims. Run {@link #main} from the IDE, or:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.SampleProject.config.security.JwtCodecBenchmark
+ * </pre>
+ * The GC profiler reports bytes allocated per operation next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtCodecBenchmark {
+
+    private JwtCodec codec;
+    private String claims;
+    private Map<String, Object> jjwtClaims;
+    private String codecToken;
+    private String jjwtToken;
+
+    @Setup
+    public void setUp() {
+        codec = new JwtCodec(JwtCodecTest.SECRET);
+        List<String> roles = Arrays.asList("ROLE_ADMIN", "ROLE_USER");
+        String permissions = PermissionSet.of(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L)).encode();
+
+        claims = "\"ROLES\":[\"ROLE_ADMIN\",\"ROLE_USER\"],\"PERMS\":\"" + permissions + "\",\"UID\":42,\"VER\":3";
+        jjwtClaims = new HashMap<>();
+        jjwtClaims.put("ROLES", roles);
+        jjwtClaims.put("PERMS", permissions);
+        jjwtClaims.put("UID", 42);
+        jjwtClaims.put("VER", 3);
+
+        long now = System.currentTimeMillis();
+        codecToken = codec.encode(claims, "benchmark-user", now, now + TimeUnit.HOURS.toMillis(1));
+        jjwtToken = jjwtIssue();
+    }
+
+    @Benchmark
+    public String codecIssue() {
+        long now = System.currentTimeMillis();
+        return codec.encode(claims, "benchmark-user", now, now + 900_000);
+    }
+
+    @Benchmark
+    public String jjwtIssue() {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(new HashMap<>(jjwtClaims))
+                .setSubject("benchmark-user")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 900_000))
+                .signWith(SignatureAlgorithm.HS256, JwtCodecTest.SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public VerifiedToken codecVerify() {
+        return codec.decode(codecToken);
+    }
+
+    @Benchmark
+    public Claims jjwtVerify() {
+        return Jwts.parser()
+                .setSigningKey(JwtCodecTest.SECRET)
+                .parseClaimsJws(jjwtToken)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
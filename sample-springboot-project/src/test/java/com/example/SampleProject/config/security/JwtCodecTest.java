@@ -0,0 +1,141 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtCodecTest {
+
+    static final String SECRET = "mySecretKey12345678901234567890123456789012345678901234567890";
+
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtCodec codec = new JwtCodec(SECRET);
+
+    @Test
+    void decodesWhatItEncodes() {
+        long now = System.currentTimeMillis();
+        PermissionSet permissions = PermissionSet.of(Arrays.asList(1L, 3L, 12L));
+        String claims = "\"ROLES\":[\"ROLE_ADMIN\",\"ROLE_USER\"],\"PERMS\":\"" + permissions.encode()
+                + "\",\"UID\":7,\"VER\":2";
+
+        VerifiedToken token = codec.decode(codec.encode(claims, "alice", now, now + 60_000));
+
+        assertThat(token.getUsername()).isEqualTo("alice");
+        assertThat(token.getUserId()).isEqualTo(7L);
+        assertThat(token.getTokenVersion()).isEqualTo(2L);
+        assertThat(token.getRoles()).containsExactly("ROLE_ADMIN", "ROLE_USER");
+        assertThat(token.getPermissions()).isEqualTo(permissions);
+        assertThat(token.getExpiresAt()).isEqualTo((now + 60_000) / 1000 * 1000);
+    }
+
+    @Test
+    void issuesTokensThatJjwtAccepts() {
+        long now = System.currentTimeMillis();
+        String token = codec.encode("\"UID\":7", "alice", now, now + 60_000);
+
+        Claims claims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+
+        assertThat(claims.getSubject()).isEqualTo("alice");
+        assertThat(claims.get("UID", Integer.class)).isEqualTo(7);
+    }
+
+    @Test
+    void acceptsTokensIssuedByJjwt() {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .setSubject("alice")
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60_000))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+
+        assertThat(codec.decode(token).getUsername()).isEqualTo("alice");
+    }
+
+    @Test
+    void rejectsTamperedSignature() {
+        long now = System.currentTimeMillis();
+        String token = codec.encode("", "alice", now, now + 60_000);
+        char last = token.charAt(token.length() - 1);
+        String tampered = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+
+        assertThatThrownBy(() -> codec.decode(tampered)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsTamperedPayload() {
+        long now = System.currentTimeMillis();
+        String[] parts = codec.encode("", "alice", now, now + 60_000).split("\\.");
+        String payload = json("{\"sub\":\"admin\",\"exp\":" + (now / 1000 + 60) + "}");
+
+        assertThatThrownBy(() -> codec.decode(parts[0] + "." + payload + "." + parts[2]))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void rejectsUnsignedTokens() {
+        long now = System.currentTimeMillis();
+        String token = json("{\"alg\":\"none\"}") + "." + json("{\"sub\":\"admin\",\"exp\":" + (now / 1000 + 60) + "}") + ".";
+
+        assertThatThrownBy(() -> codec.decode(token)).isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    void rejectsOtherAlgorithmsEvenWithValidSignature() {
+        long now = System.currentTimeMillis();
+        String token = Jwts.builder()
+                .setSubject("alice")
+                .setExpiration(new Date(now + 60_000))
+                .signWith(SignatureAlgorithm.HS512, SECRET)
+                .compact();
+
+        assertThatThrownBy(() -> codec.decode(token)).isInstanceOf(UnsupportedJwtException.class);
+    }
+
+    @Test
+    void rejectsExpiredTokens() {
+        long now = System.currentTimeMillis();
+        String token = codec.encode("", "alice", now - 120_000, now - 60_000);
+
+        assertThatThrownBy(() -> codec.decode(token))
+                .isInstanceOf(ExpiredJwtException.class)
+                .satisfies(e -> assertThat(((ExpiredJwtException) e).getClaims().getSubject()).isEqualTo("alice"));
+    }
+
+    @Test
+    void escapesJsonStrings() {
+        StringBuilder json = new StringBuilder();
+        JwtCodec.appendJsonString(json, "a\"b\\c\nd\u0001");
+
+        assertThat(json.toString()).isEqualTo("\"a\\\"b\\\\c\\u000ad\\u0001\"");
+    }
+
+    @Test
+    void roundTripsSubjectsThatNeedEscaping() {
+        long now = System.currentTimeMillis();
+        String subject = "quote\" backslash\\ newline\n tab\t control\u0001 unicodeé中";
+        String token = codec.encode("", subject, now, now + 60_000);
+
+        assertThat(codec.decode(token).getUsername()).isEqualTo(subject);
+        assertThat(Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody().getSubject())
+                .isEqualTo(subject);
+    }
+
+    private static String json(String value) {
+        return URL_ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+import com.example.SampleProject.exception.ErrorLogLimiter;
+import com.example.SampleProject.exception.ErrorResponseWriter;
+import com.example.SampleProject.service.impl.MyUserDetailServiceImplementation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.FilterChain;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JwtRequestFilterTest {
+
+    JwtRequestFilter filter;
+    JwtUtil jwtUtil;
+    MyUserDetailServiceImplementation userDetailService;
+    ErrorLogLimiter errorLogLimiter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = mock(JwtUtil.class);
+        userDetailService = mock(MyUserDetailServiceImplementation.class);
+        errorLogLimiter = new ErrorLogLimiter(10000);
+
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "myUserDetailServiceImplementation", userDetailService);
+        ReflectionTestUtils.setField(filter, "routeTable", SecurityConfigure.routeTable());
+        ReflectionTestUtils.setField(filter, "errorResponseWriter", new ErrorResponseWriter(new ObjectMapper()));
+        ReflectionTestUtils.setField(filter, "errorLogLimiter", errorLogLimiter);
+
+        when(jwtUtil.verify("token")).thenReturn(new VerifiedToken("teacher1", 2L, 0L,
+                System.currentTimeMillis() + 60000, Collections.emptyList(), PermissionSet.of(Collections.emptyList())));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void unknownUserIsAnExpectedAuthenticationFailure() throws Exception {
+        when(userDetailService.loadUserByUsername("teacher1")).thenThrow(new UsernameNotFoundException("gone"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(authorizedRequest(), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(errorLogLimiter.getMetrics()).containsKey("JWT_UNKNOWN_USER").doesNotContainKey("AUTHENTICATION_ERROR");
+    }
+
+    @Test
+    void unexpectedFailureHasItsOwnCodeAndIsAServerError() throws Exception {
+        when(userDetailService.loadUserByUsername("teacher1"))
+                .thenThrow(new DataAccessResourceFailureException("database unavailable"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(authorizedRequest(), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(500);
+        assertThat(response.getContentAsString()).contains("\"errorCode\":\"AUTHENTICATION_ERROR\"");
+        assertThat(errorLogLimiter.getMetrics()).containsKey("AUTHENTICATION_ERROR");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void failuresFurtherDownTheChainAreNotReportedAsAuthenticationErrors() throws Exception {
+        FilterChain chain = mock(FilterChain.class);
+        doThrow(new IllegalStateException("controller failed")).when(chain).doFilter(any(), any());
+
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/user"),
+                new MockHttpServletResponse(), chain))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(errorLogLimiter.getMetrics()).doesNotContainKey("AUTHENTICATION_ERROR");
+    }
+
+    private static MockHttpServletRequest authorizedRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user");
+        request.setServletPath("/api/user");
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
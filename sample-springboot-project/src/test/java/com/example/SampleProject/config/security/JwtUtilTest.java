@@ -0,0 +1,66 @@
+package com.example.SampleProject.config.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtUtilTest {
+
+    JwtCodec codec;
+    JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        codec = spy(new JwtCodec(JwtCodecTest.SECRET));
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtCodec", codec);
+        ReflectionTestUtils.setField(jwtUtil, "verificationCacheMaxSize", 2);
+    }
+
+    @Test
+    void verifiedTokensAreServedFromMemory() {
+        String token = token("alice", 60_000);
+
+        assertThat(jwtUtil.verify(token)).isSameAs(jwtUtil.verify(token));
+        verify(codec, times(1)).decode(token);
+    }
+
+    @Test
+    void leastRecentlyUsedTokensAreDroppedWhenFull() {
+        String alice = token("alice", 60_000);
+        String bob = token("bob", 60_000);
+        String carol = token("carol", 60_000);
+
+        jwtUtil.verify(alice);
+        jwtUtil.verify(bob);
+        jwtUtil.verify(alice);
+        jwtUtil.verify(carol);
+        jwtUtil.verify(alice);
+        jwtUtil.verify(bob);
+
+        verify(codec, times(1)).decode(alice);
+        verify(codec, times(2)).decode(bob);
+    }
+
+    @Test
+    void cachedTokenIsNotServedPastItsExpiry() throws InterruptedException {
+        String token = token("alice", 1_500);
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        Thread.sleep(Math.max(0, verified.getExpiresAt() - System.currentTimeMillis()) + 50);
+
+        assertThatThrownBy(() -> jwtUtil.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    private String token(String username, long lifetime) {
+        long now = System.currentTimeMillis();
+        return codec.encode("\"VER\":0", username, now, now + lifetime);
+    }
+}
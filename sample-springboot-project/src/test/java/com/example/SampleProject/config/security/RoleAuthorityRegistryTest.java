@@ -0,0 +1,56 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionSet;
+import com.example.SampleProject.model.Permission;
+import com.example.SampleProject.repository.PermissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoleAuthorityRegistryTest {
+
+    RoleAuthorityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(permissionRepository.findAll()).thenReturn(List.of(permission(1L, "USER_READ"), permission(2L, "USER_WRITE")));
+        registry = new RoleAuthorityRegistry(new PermissionRegistry(permissionRepository));
+    }
+
+    @Test
+    void tokenGrantPrefixesRolesAndResolvesPermissionBits() {
+        AuthorityGrant grant = registry.grantFor(List.of("ADMIN"), PermissionSet.of(List.of(1L, 2L)));
+
+        assertThat(names(grant)).containsExactly("ROLE_ADMIN", "USER_READ", "USER_WRITE");
+    }
+
+    @Test
+    void tokenGrantIsSharedUntilInvalidated() {
+        AuthorityGrant first = registry.grantFor(List.of("TEACHER"), PermissionSet.of(List.of(1L)));
+
+        assertThat(registry.grantFor(List.of("TEACHER"), PermissionSet.of(List.of(1L)))).isSameAs(first);
+
+        registry.invalidate();
+
+        assertThat(registry.grantFor(List.of("TEACHER"), PermissionSet.of(List.of(1L)))).isNotSameAs(first);
+    }
+
+    private static List<String> names(AuthorityGrant grant) {
+        return grant.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+    }
+
+    private static Permission permission(Long id, String name) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setName(name);
+        return permission;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.SampleProject.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteTableTest {
+
+    private final RouteTable routes = SecurityConfigure.routeTable();
+
+    @Test
+    void publicRoutesSkipTokenProcessing() {
+        assertThat(routes.isPublic(request("POST", "/api/login"))).isTrue();
+        assertThat(routes.isPublic(request("POST", "/api/token/refresh"))).isTrue();
+        assertThat(routes.isPublic(request("GET", "/swagger-ui/index.html"))).isTrue();
+        assertThat(routes.isPublic(request("GET", "/v3/api-docs"))).isTrue();
+        assertThat(routes.isPublic(request("OPTIONS", "/api/user/1"))).isTrue();
+
+        assertThat(routes.isPublic(request("GET", "/api/user"))).isFalse();
+        assertThat(routes.isPublic(request("POST", "/api/login/extra"))).isFalse();
+        assertThat(routes.isPublic(request("POST", "/api/login/"))).isFalse();
+    }
+
+    @Test
+    void signupIsAdminOnlyAndNotPublic() {
+        assertThat(routes.isPublic(request("POST", "/api/signup"))).isFalse();
+
+        assertThat(granted(request("POST", "/api/signup"), user("ROLE_ADMIN"))).isTrue();
+        // Declared before POST /api/**, so the TEACHER grant of that rule does not apply
+        assertThat(granted(request("POST", "/api/signup"), user("ROLE_TEACHER"))).isFalse();
+        assertThat(granted(request("POST", "/api/signup"), anonymous())).isFalse();
+    }
+
+    @Test
+    void rulesApplyPerMethod() {
+        assertThat(granted(request("GET", "/api/user/1"), user("ROLE_USER"))).isTrue();
+        assertThat(granted(request("PUT", "/api/role/1"), user("ROLE_TEACHER"))).isTrue();
+        assertThat(granted(request("PUT", "/api/role/1"), user("ROLE_USER"))).isFalse();
+        assertThat(granted(request("DELETE", "/api/role/1"), user("ROLE_TEACHER"))).isFalse();
+        assertThat(granted(request("DELETE", "/api/role/1"), user("ROLE_ADMIN"))).isTrue();
+    }
+
+    @Test
+    void firstDeclaredRuleWinsOverLaterWildcards() {
+        RouteTable searchFirst = RouteTable.builder()
+                .hasAnyRole(HttpMethod.GET, "/api/*/search", "ADMIN")
+                .hasAnyRole(HttpMethod.GET, "/api/**", "USER")
+                .anyRequestAuthenticated();
+
+        assertThat(granted(searchFirst, request("GET", "/api/user/search"), user("ROLE_USER"))).isFalse();
+        assertThat(granted(searchFirst, request("GET", "/api/user/1"), user("ROLE_USER"))).isTrue();
+
+        RouteTable catchAllFirst = RouteTable.builder()
+                .hasAnyRole(HttpMethod.GET, "/api/**", "USER")
+                .hasAnyRole(HttpMethod.GET, "/api/*/search", "ADMIN")
+                .anyRequestAuthenticated();
+
+        assertThat(granted(catchAllFirst, request("GET", "/api/user/search"), user("ROLE_USER"))).isTrue();
+    }
+
+    @Test
+    void ruleForAnotherMethodDoesNotShadowLaterRules() {
+        RouteTable table = RouteTable.builder()
+                .hasAnyRole(HttpMethod.POST, "/api/role/*", "ADMIN")
+                .hasAnyRole(HttpMethod.GET, "/api/**", "USER")
+                .anyRequestAuthenticated();
+
+        assertThat(granted(table, request("GET", "/api/role/1"), user("ROLE_USER"))).isTrue();
+        assertThat(granted(table, request("POST", "/api/role/1"), user("ROLE_USER"))).isFalse();
+    }
+
+    @Test
+    void unmatchedRequestsOnlyNeedAuthentication() {
+        assertThat(granted(request("PATCH", "/api/role/1"), user())).isTrue();
+        assertThat(granted(request("GET", "/other"), user())).isTrue();
+        assertThat(granted(request("GET", "/other"), anonymous())).isFalse();
+    }
+
+    @Test
+    void rejectsUnsupportedPatterns() {
+        assertThatThrownBy(() -> RouteTable.builder().permitAll("/api/**/search"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RouteTable.builder().permitAll("/api/user*"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RouteTable.builder().permitAll("api/login"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private boolean granted(MockHttpServletRequest request, Authentication authentication) {
+        return granted(routes, request, authentication);
+    }
+
+    private static boolean granted(RouteTable table, MockHttpServletRequest request, Authentication authentication) {
+        return table.check(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private static Authentication user(String... authorities) {
+        return new UsernamePasswordAuthenticationToken("user", null, AuthorityUtils.createAuthorityList(authorities));
+    }
+
+    private static Authentication anonymous() {
+        return new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.dto.PermissionMatrixDto;
+import com.example.SampleProject.repository.UserRepository;
+import com.example.SampleProject.service.RoleService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Authenticates from token claims, so only the token version tells a revoked token apart.
+ * The second-level cache is off because its Ehcache manager is shared with the other contexts.
+ * <p>
+ * A teacher may POST to /api/** but not revoke sessions, so a token that is still accepted
+ * gets 403 there, and a rejected one gets 401.
+ */
+@SpringBootTest(properties = {
+        "jwt.stateless=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatelessAuthenticationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleService roleService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void revokedUsersTokenIsRejectedOnceTheRevocationCommits() throws Exception {
+        String teacherJwt = JsonPath.read(login("teacher1"), "$.jwt");
+        String adminJwt = JsonPath.read(login("admin"), "$.jwt");
+        Long teacherId = userRepository.findByName("teacher1").orElseThrow().getId();
+
+        asTeacher(teacherJwt).andExpect(status().isForbidden());
+
+        mockMvc.perform(post("/api/user/{id}/revoke-sessions", teacherId)
+                        .header(HttpHeaders.AUTHORIZATION, bearer(adminJwt)))
+                .andExpect(status().isOk());
+
+        asTeacher(teacherJwt).andExpect(status().isUnauthorized());
+        asTeacher(JsonPath.read(login("teacher1"), "$.jwt")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void roleHoldersTokensAreRejectedOnceTheRoleChangeCommits() throws Exception {
+        String teacherJwt = JsonPath.read(login("teacher1"), "$.jwt");
+        Long teacherRole = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = 'TEACHER'", Long.class);
+        Set<Long> granted = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT permission_id FROM role_permissions WHERE role_id = ?", Long.class, teacherRole));
+        Long extra = jdbcTemplate.queryForObject("SELECT MAX(id) FROM permissions", Long.class);
+
+        asTeacher(teacherJwt).andExpect(status().isForbidden());
+
+        Set<Long> changed = new HashSet<>(granted);
+        if (!changed.remove(extra)) {
+            changed.add(extra);
+        }
+        roleService.applyPermissionMatrix(new PermissionMatrixDto(Map.of(teacherRole, changed)));
+        try {
+            asTeacher(teacherJwt).andExpect(status().isUnauthorized());
+        } finally {
+            roleService.applyPermissionMatrix(new PermissionMatrixDto(Map.of(teacherRole, granted)));
+        }
+    }
+
+    private ResultActions asTeacher(String jwt) throws Exception {
+        Long studentId = userRepository.findByName("student1").orElseThrow().getId();
+        return mockMvc.perform(post("/api/user/{id}/revoke-sessions", studentId)
+                .header(HttpHeaders.AUTHORIZATION, bearer(jwt)));
+    }
+
+    private String login(String name) throws Exception {
+        return mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static String bearer(String jwt) {
+        return "Bearer " + jwt;
+    }
+}
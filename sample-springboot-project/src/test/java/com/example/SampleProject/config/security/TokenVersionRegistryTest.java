@@ -0,0 +1,67 @@
+package com.example.SampleProject.config.security;
+
+import com.example.SampleProject.repository.UserRepository;
+import com.example.SampleProject.service.impl.UserDetailsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenVersionRegistryTest {
+
+    UserRepository userRepository;
+    TokenVersionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        registry = new TokenVersionRegistry(userRepository, new UserDetailsCache(0, 0), 60000, 2);
+    }
+
+    @Test
+    void versionIsReadOnceWithinTheTtl() {
+        when(userRepository.findTokenVersionByName("alice")).thenReturn(Optional.of(3L));
+
+        assertThat(registry.currentVersion("alice")).isEqualTo(3L);
+        assertThat(registry.currentVersion("alice")).isEqualTo(3L);
+
+        verify(userRepository, times(1)).findTokenVersionByName("alice");
+    }
+
+    @Test
+    void versionReadBeforeARevocationCommittedIsNotKept() {
+        // The revocation commits while the old version is being read
+        when(userRepository.findTokenVersionByName("alice")).thenAnswer(invocation -> {
+            registry.revokeUser("alice");
+            return Optional.of(3L);
+        });
+        assertThat(registry.currentVersion("alice")).isEqualTo(3L);
+
+        doReturn(Optional.of(4L)).when(userRepository).findTokenVersionByName("alice");
+        assertThat(registry.currentVersion("alice")).isEqualTo(4L);
+    }
+
+    @Test
+    void leastRecentlyUsedUsersAreDroppedBeyondTheLimit() {
+        when(userRepository.findTokenVersionByName("alice")).thenReturn(Optional.of(1L));
+        when(userRepository.findTokenVersionByName("bob")).thenReturn(Optional.of(1L));
+        when(userRepository.findTokenVersionByName("carol")).thenReturn(Optional.of(1L));
+
+        registry.currentVersion("alice");
+        registry.currentVersion("bob");
+        registry.currentVersion("alice");
+        registry.currentVersion("carol");
+        registry.currentVersion("alice");
+        registry.currentVersion("bob");
+
+        verify(userRepository, times(1)).findTokenVersionByName("alice");
+        verify(userRepository, times(2)).findTokenVersionByName("bob");
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.SampleProject.controller;
+
+import com.example.SampleProject.model.User;
+import com.example.SampleProject.service.impl.UserDetailsCache;
+import com.jayway.jsonpath.JsonPath;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void coldCaches() {
+        userDetailsCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void loginLoadsTheUserOnce() throws Exception {
+        login("teacher1", "password123")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.jwt").isNotEmpty())
+                .andExpect(jsonPath("$.authorities", hasItem("ROLE_TEACHER")));
+
+        assertThat(userQueryExecutions()).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenCarriesBareRoleNames() throws Exception {
+        String body = login("teacher1", "password123").andReturn().getResponse().getContentAsString();
+        String jwt = JsonPath.read(body, "$.jwt");
+        String payload = new String(Base64.getUrlDecoder().decode(jwt.split("\\.")[1]), StandardCharsets.UTF_8);
+
+        assertThat(JsonPath.<List<String>>read(payload, "$.ROLES")).containsExactly("TEACHER");
+    }
+
+    @Test
+    void secondLoginIsServedFromTheUserCache() throws Exception {
+        login("student1", "password123").andExpect(status().isOk());
+        statistics.clear();
+
+        login("student1", "password123").andExpect(status().isOk());
+
+        assertThat(userQueryExecutions()).isZero();
+    }
+
+    @Test
+    void wrongPasswordIsRejectedAfterOneLookup() throws Exception {
+        login("teacher1", "wrong-password").andExpect(status().isUnauthorized());
+
+        assertThat(userQueryExecutions()).isEqualTo(1);
+    }
+
+    private ResultActions login(String name, String password) throws Exception {
+        return mockMvc.perform(post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"password\":\"" + password + "\"}"));
+    }
+
+    /**
+     * Executions of HQL queries that select users, e.g. findWithRolesByName
+     */
+    private long userQueryExecutions() {
+        return Arrays.stream(statistics.getQueries())
+                .filter(hql -> hql.contains(" from " + User.class.getName())
+                        || hql.contains(" from User "))
+                .mapToLong(hql -> statistics.getQueryStatistics(hql).getExecutionCount())
+                .sum();
+    }
+}
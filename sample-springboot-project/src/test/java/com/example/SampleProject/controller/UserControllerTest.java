@@ -0,0 +1,169 @@
+package com.example.SampleProject.controller;
+
+import com.example.SampleProject.repository.UserRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void revokeSessionsEndsAccessAndRefreshTokens() throws Exception {
+        String session = login("admin");
+        String otherSession = login("admin");
+        String jwt = JsonPath.read(session, "$.jwt");
+        String otherJwt = JsonPath.read(otherSession, "$.jwt");
+        String otherRefreshToken = JsonPath.read(otherSession, "$.refreshToken");
+        Long adminId = userRepository.findByName("admin").orElseThrow().getId();
+
+        mockMvc.perform(get("/api/role").header(HttpHeaders.AUTHORIZATION, bearer(otherJwt)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/user/{id}/revoke-sessions", adminId)
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/role").header(HttpHeaders.AUTHORIZATION, bearer(otherJwt)))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + otherRefreshToken + "\"}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/role").header(HttpHeaders.AUTHORIZATION, bearer(JsonPath.read(login("admin"), "$.jwt"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void revokeSessionsRequiresAdmin() throws Exception {
+        String teacherJwt = JsonPath.read(login("teacher1"), "$.jwt");
+        Long studentId = userRepository.findByName("student1").orElseThrow().getId();
+
+        mockMvc.perform(post("/api/user/{id}/revoke-sessions", studentId)
+                        .header(HttpHeaders.AUTHORIZATION, bearer(teacherJwt)))
+                .andExpect(status().isForbidden())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.errorCode").value("ACCESS_DENIED"))
+                .andExpect(jsonPath("$.path").value("/api/user/" + studentId + "/revoke-sessions"))
+                .andExpect(jsonPath("$.timestamp").isNotEmpty());
+    }
+
+    @Test
+    void routeRejectionHasAJsonBody() throws Exception {
+        // GET /api/** needs USER or ADMIN, so the route table rejects a student before any controller runs
+        String studentJwt = JsonPath.read(login("student1"), "$.jwt");
+
+        mockMvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, bearer(studentJwt)))
+                .andExpect(status().isForbidden())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(403))
+                .andExpect(jsonPath("$.errorCode").value("ACCESS_DENIED"))
+                .andExpect(jsonPath("$.path").value("/api/user"))
+                .andExpect(jsonPath("$.timestamp").isNotEmpty());
+    }
+
+    @Test
+    void collectionETagIsServedOnEveryListingAndChangesWithTheUsers() throws Exception {
+        String jwt = JsonPath.read(login("admin"), "$.jwt");
+        Long studentRole = userRepository.findWithRolesByName("student1").orElseThrow()
+                .getRoles().iterator().next().getId();
+
+        String etag = mockMvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/user")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(post("/api/signup")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"etag.user\",\"password\":\"password123\",\"roles\":[{\"id\":" + studentRole + "}]}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/user")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void nameSortedPagesCoverEveryUserOnceAndEndWithoutNext() throws Exception {
+        String jwt = JsonPath.read(login("admin"), "$.jwt");
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            String page = mockMvc.perform(get("/api/user").param("sort", "name").param("size", "2")
+                            .param("cursor", cursor != null ? cursor : "")
+                            .header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            names.addAll(JsonPath.read(page, "$.items[*].name"));
+            cursor = JsonPath.read(page, "$.next");
+        } while (cursor != null);
+
+        assertThat(names).isSorted().doesNotHaveDuplicates().hasSize((int) userRepository.count());
+    }
+
+    @Test
+    void invalidPageRequestsAreRejected() throws Exception {
+        String jwt = JsonPath.read(login("admin"), "$.jwt");
+        String idCursor = JsonPath.read(mockMvc.perform(get("/api/user").param("size", "1")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.next");
+
+        mockMvc.perform(get("/api/user").param("size", "0").header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/user").param("size", "101").header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/user").param("cursor", "not-a-cursor").header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors[0].field").value("cursor"));
+        mockMvc.perform(get("/api/user").param("cursor", idCursor).param("sort", "name")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String login(String name) throws Exception {
+        return mockMvc.perform(post("/api/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static String bearer(String jwt) {
+        return "Bearer " + jwt;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.SampleProject.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ErrorResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void completedPrefixCarriesTheRequestPathAndTimestamp() throws Exception {
+        byte[] prefix = ErrorResponseWriter.staticPrefix(403, "Access denied", "No", "ACCESS_DENIED");
+
+        JsonNode body = objectMapper.readTree(ErrorResponseWriter.completeBody(prefix, "/api/\"quoted\"/path"));
+
+        assertThat(body.get("success").asBoolean()).isFalse();
+        assertThat(body.get("message").asText()).isEqualTo("Access denied");
+        assertThat(body.get("details").asText()).isEqualTo("No");
+        assertThat(body.get("status").asInt()).isEqualTo(403);
+        assertThat(body.get("errorCode").asText()).isEqualTo("ACCESS_DENIED");
+        assertThat(body.get("path").asText()).isEqualTo("/api/\"quoted\"/path");
+        assertThat(body.get("timestamp").asText()).isNotEmpty();
+    }
+
+    @Test
+    void endpointNotFoundBodyKeepsThePath() throws Exception {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(mock(ErrorLogLimiter.class));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/missing");
+
+        ResponseEntity<byte[]> response = handler.handleNoHandlerFoundException(
+                new NoHandlerFoundException("GET", "/api/missing", null), request);
+
+        JsonNode body = objectMapper.readTree(response.getBody());
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(response.getBody().length);
+        assertThat(body.get("errorCode").asText()).isEqualTo("ENDPOINT_NOT_FOUND");
+        assertThat(body.get("path").asText()).isEqualTo("/api/missing");
+        assertThat(body.get("timestamp").asText()).isNotEmpty();
+    }
+}
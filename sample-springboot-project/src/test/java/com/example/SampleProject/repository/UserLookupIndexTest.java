@@ -0,0 +1,106 @@
+package com.example.SampleProject.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query plans of the per-request name lookups on MySQL, against the schema built by the Flyway
+ * migrations, and the upgrade of a database created before migrations were used. Skipped where
+ * Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserLookupIndexTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword()));
+
+        jdbcTemplate.update("INSERT INTO roles (id, name) VALUES (1, 'ADMIN'), (2, 'STUDENT')");
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            users.add(new Object[]{(long) i, "user" + i, "hash"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, password) VALUES (?, ?, ?)", users);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT id, 2 FROM users");
+        jdbcTemplate.execute("ANALYZE TABLE users, user_roles, roles");
+    }
+
+    @Test
+    void nameLookupIsAUniqueIndexPointRead() {
+        // UserRepository.findWithRolesByName
+        List<Map<String, Object>> plan = explain("SELECT u.*, r.* FROM users u "
+                + "LEFT OUTER JOIN user_roles ur ON u.id = ur.user_id "
+                + "LEFT OUTER JOIN roles r ON r.id = ur.role_id "
+                + "WHERE u.name = ?", "user500");
+
+        assertThat(row(plan, "u")).containsEntry("type", "const").containsEntry("key", "ux_users_name");
+        assertThat(row(plan, "ur")).containsEntry("key", "PRIMARY");
+        assertThat(row(plan, "r")).containsEntry("type", "eq_ref").containsEntry("key", "PRIMARY");
+    }
+
+    @Test
+    void tokenVersionLookupNeverScansUsers() {
+        // UserRepository.findTokenVersionByName
+        List<Map<String, Object>> plan = explain("SELECT u.token_version FROM users u WHERE u.name = ?", "user500");
+
+        assertThat(plan).hasSize(1);
+        assertThat(row(plan, "u").get("type")).isIn("const", "ref");
+        assertThat(row(plan, "u").get("key")).isIn("ux_users_name", "ix_users_name_token_version");
+        assertThat(((Number) row(plan, "u").get("rows")).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    void baselinedSchemaIsBroughtUpToDate() {
+        DataSource root = new DriverManagerDataSource(MYSQL.getJdbcUrl(), "root", MYSQL.getPassword());
+        new JdbcTemplate(root).execute("CREATE DATABASE baseline");
+        DataSource baseline = new DriverManagerDataSource(
+                MYSQL.getJdbcUrl().replaceFirst("/" + MYSQL.getDatabaseName(), "/baseline"), "root", MYSQL.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/baseline-schema.sql")).execute(baseline);
+
+        Flyway flyway = BaselineMigrationTest.migrateFromBaseline(baseline);
+
+        JdbcTemplate baselineTemplate = new JdbcTemplate(baseline);
+        assertThat(baselineTemplate.queryForObject("SELECT token_version FROM users WHERE name = 'admin'", Long.class))
+                .isZero();
+        assertThat(baselineTemplate.queryForList("SHOW INDEX FROM users WHERE Key_name = 'ix_users_name_token_version'"))
+                .isNotEmpty();
+        flyway.validate();
+    }
+
+    private static List<Map<String, Object>> explain(String sql, Object... args) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+    }
+
+    private static Map<String, Object> row(List<Map<String, Object>> plan, String table) {
+        return plan.stream()
+                .filter(row -> table.equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for " + table + ": " + plan));
+    }
+}
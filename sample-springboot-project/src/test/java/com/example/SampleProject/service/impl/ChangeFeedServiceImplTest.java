@@ -0,0 +1,137 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.ChangeDto;
+import com.example.SampleProject.dto.ChangeFeedPage;
+import com.example.SampleProject.model.ChangeLogEntry.EntityType;
+import com.example.SampleProject.model.ChangeLogEntry.Operation;
+import com.example.SampleProject.service.ChangeFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChangeFeedServiceImplTest {
+
+    @Autowired
+    ChangeFeedService changeFeedService;
+
+    @Autowired
+    ChangeLogWriter changeLogWriter;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entriesAreAppendedAtCommitAndDroppedOnRollback() {
+        long since = lastSequence();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLogWriter.record(EntityType.USER, Operation.UPDATE, 9001L);
+            assertThat(lastSequence()).isEqualTo(since);
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            changeLogWriter.recordAll(EntityType.ROLE, Operation.UPDATE, List.of(9002L, 9003L));
+            status.setRollbackOnly();
+        });
+
+        ChangeFeedPage page = changeFeedService.getChanges(since, 100);
+        assertThat(entityIds(page)).containsExactly(9001L);
+        assertThat(page.getNext()).isEqualTo(lastSequence());
+        assertThat(page.isMore()).isFalse();
+    }
+
+    @Test
+    void laterAppendsWaitForEarlierOnesToCommit() throws Exception {
+        long since = lastSequence();
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Appends, then stalls between its last statement and the commit
+            Future<?> slow = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                changeLogWriter.record(EntityType.USER, Operation.UPDATE, 9101L);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        appended.countDown();
+                        await(release);
+                    }
+                });
+            }));
+            assertThat(appended.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> fast = executor.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                    changeLogWriter.record(EntityType.USER, Operation.UPDATE, 9102L)));
+            Thread.sleep(300);
+
+            // The second append cannot commit, and so cannot be seen, ahead of the first
+            assertThat(fast.isDone()).isFalse();
+            ChangeFeedPage pending = changeFeedService.getChanges(since, 100);
+            assertThat(pending.getChanges()).isEmpty();
+            assertThat(pending.getNext()).isEqualTo(since);
+
+            release.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            fast.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertThat(entityIds(changeFeedService.getChanges(since, 100))).containsExactly(9101L, 9102L);
+    }
+
+    @Test
+    void pagesFollowOnFromTheLastSequenceSeen() {
+        long since = lastSequence();
+        transactionTemplate.executeWithoutResult(status ->
+                changeLogWriter.recordAll(EntityType.USER, Operation.CREATE, List.of(9201L, 9202L, 9203L)));
+
+        ChangeFeedPage first = changeFeedService.getChanges(since, 2);
+        assertThat(entityIds(first)).containsExactly(9201L, 9202L);
+        assertThat(first.isMore()).isTrue();
+
+        ChangeFeedPage second = changeFeedService.getChanges(first.getNext(), 2);
+        assertThat(entityIds(second)).containsExactly(9203L);
+        assertThat(second.isMore()).isFalse();
+    }
+
+    private long lastSequence() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM change_log", Long.class);
+    }
+
+    private static List<Long> entityIds(ChangeFeedPage page) {
+        List<Long> ids = new ArrayList<>();
+        for (ChangeDto change : page.getChanges()) {
+            ids.add(change.getId());
+        }
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.dto.RoleDto;
+import com.example.SampleProject.dto.UserDto;
+import com.example.SampleProject.repository.RoleRepository;
+import com.example.SampleProject.repository.UserRepository;
+import com.example.SampleProject.service.RoleService;
+import com.example.SampleProject.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statement counts of the list and detail read paths, with a cold second-level cache
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FetchPlanTest {
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    RoleService roleService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void coldCaches() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void userPageReadsSummariesAndRolesInTwoStatements() {
+        CursorPage<UserDto> page = userService.getPage(null, 20, null);
+
+        assertThat(page.getItems()).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(page.getItems()).allSatisfy(user -> assertThat(user.getRoles()).isNotEmpty());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void userDetailFetchesRolesWithTheUser() {
+        Long id = userRepository.findByName("teacher1").orElseThrow().getId();
+        statistics.clear();
+
+        UserDto user = userService.findById(id);
+
+        assertThat(user.getRoles()).extracting(RoleDto::getName).containsExactly("TEACHER");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void rolePageBatchesPermissionLoading() {
+        CursorPage<RoleDto> page = roleService.getPage(null, 20, null);
+
+        assertThat(page.getItems()).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(page.getItems()).allSatisfy(role -> assertThat(role.getPermissions()).isNotEmpty());
+        // One select for the page and one batched select for the permissions of all of its roles
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void roleDetailFetchesPermissionsWithTheRole() {
+        Long id = roleRepository.findByName("ADMIN").orElseThrow().getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        RoleDto role = roleService.findById(id);
+
+        assertThat(role.getPermissions()).hasSize(12);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+}
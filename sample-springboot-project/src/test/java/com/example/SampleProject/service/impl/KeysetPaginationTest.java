@@ -0,0 +1,115 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPaginationTest {
+
+    // Duplicate names, in an id order that differs from the name order
+    private static final List<Row> ROWS = List.of(
+            new Row(1, "carol"), new Row(2, "alice"), new Row(3, "bob"), new Row(4, "alice"),
+            new Row(5, "bob"), new Row(6, "alice"), new Row(7, "bob"), new Row(8, "dave"));
+
+    @Test
+    void nameSortContinuesWithinDuplicateNames() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<String> page = page(cursor, 2, "name");
+            seen.addAll(page.getItems());
+            cursor = page.getNext();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly("alice#2", "alice#4", "alice#6", "bob#3", "bob#5", "bob#7", "carol#1", "dave#8");
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void lastPageHasNoNext() {
+        CursorPage<String> first = page(null, 5, "id");
+        assertThat(first.getNext()).isNotNull();
+
+        CursorPage<String> last = page(first.getNext(), 5, "id");
+        assertThat(last.getItems()).containsExactly("alice#6", "bob#7", "dave#8");
+        assertThat(last.getNext()).isNull();
+
+        // A page that ends exactly on the last row does not point past it either
+        assertThat(page(null, ROWS.size(), "id").getNext()).isNull();
+    }
+
+    @Test
+    void pageSizeIsBounded() {
+        assertThat(page(null, null, null).getSize()).isEqualTo(KeysetPagination.DEFAULT_SIZE);
+        assertThat(page(null, 1, null).getItems()).hasSize(1);
+        assertThat(page(null, KeysetPagination.MAX_SIZE, null).getSize()).isEqualTo(KeysetPagination.MAX_SIZE);
+
+        assertThatThrownBy(() -> page(null, 0, null)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(null, -1, null)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(null, KeysetPagination.MAX_SIZE + 1, null)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void malformedAndTamperedCursorsAreRejected() {
+        String idCursor = page(null, 2, "id").getNext();
+        String nameCursor = page(null, 2, "name").getNext();
+
+        assertThatThrownBy(() -> page("%%%", 2, "id")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(cursor("i:abc"), 2, "id")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(cursor("i"), 2, "id")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(cursor("x:2"), 2, "id")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(cursor("n:abc:alice"), 2, "name")).isInstanceOf(ValidationException.class);
+        // Cursors only continue the sort they were issued for
+        assertThatThrownBy(() -> page(idCursor, 2, "name")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(nameCursor, 2, "id")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> page(null, 2, "email")).isInstanceOf(ValidationException.class);
+    }
+
+    private static CursorPage<String> page(String cursor, Integer size, String sort) {
+        return KeysetPagination.page(KeysetPaginationTest::read, cursor, size, sort,
+                row -> row.id, row -> row.name,
+                rows -> rows.stream().map(row -> row.name + "#" + row.id).collect(Collectors.toList()));
+    }
+
+    // Same predicates and order as the repository keyset queries
+    private static List<Row> read(KeysetPagination.SortKey sortKey, Long afterId, String afterName,
+                                  Pageable limit) {
+        Comparator<Row> order = sortKey == KeysetPagination.SortKey.ID
+                ? Comparator.comparingLong(row -> row.id)
+                : Comparator.<Row, String>comparing(row -> row.name).thenComparingLong(row -> row.id);
+        return ROWS.stream()
+                .filter(row -> afterId == null || (sortKey == KeysetPagination.SortKey.ID
+                        ? row.id > afterId
+                        : row.name.compareTo(afterName) > 0 || (row.name.equals(afterName) && row.id > afterId)))
+                .sorted(order)
+                .limit(limit.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    private static String cursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class Row {
+        private final long id;
+        private final String name;
+
+        private Row(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.config.datasource.RoutingDataSource;
+import com.example.SampleProject.model.Role;
+import com.example.SampleProject.repository.UserRepository;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a second embedded database standing in for a replica that has not yet seen
+ * teacher1 move from STUDENT to TEACHER. The second-level cache is off: its Ehcache manager is
+ * shared by every context in the JVM, and entries from the other contexts would hide the replica.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("test")
+class MyUserDetailServiceImplementationTest {
+
+    private static final String REPLICA_URL =
+            "jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+        registry.add("app.datasource.replica.url", () -> REPLICA_URL);
+    }
+
+    @Autowired
+    MyUserDetailServiceImplementation userDetailService;
+
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoutingDataSource routingDataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void staleReplica() {
+        JdbcTemplate replica = new JdbcTemplate(routingDataSource.getReplica());
+        replica.update("DELETE FROM user_roles");
+        replica.update("DELETE FROM users");
+        replica.update("DELETE FROM roles");
+        replica.update("INSERT INTO roles (id, name) VALUES (3, 'STUDENT')");
+        replica.update("INSERT INTO users (id, name, password) VALUES (2, 'teacher1', 'stale')");
+        replica.update("INSERT INTO user_roles (user_id, role_id) VALUES (2, 3)");
+        userDetailsCache.invalidate("teacher1");
+    }
+
+    @Test
+    void readOnlyWorkSeesTheStaleReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        String roles = readOnly.execute(status -> userRepository.findWithRolesByName("teacher1").orElseThrow()
+                .getRoles().stream().map(Role::getName).collect(Collectors.joining(",")));
+
+        assertThat(roles).isEqualTo("STUDENT");
+    }
+
+    @Test
+    void userDetailsAreLoadedFromThePrimary() {
+        assertThat(userDetailService.loadUserByUsername("teacher1").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .contains("ROLE_TEACHER")
+                .doesNotContain("ROLE_STUDENT");
+        assertThat(userDetailsCache.get("teacher1").getPassword()).isNotEqualTo("stale");
+    }
+}
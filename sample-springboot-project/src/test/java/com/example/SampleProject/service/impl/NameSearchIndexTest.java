@@ -0,0 +1,108 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.CursorPage;
+import com.example.SampleProject.exception.ServiceUnavailableException;
+import com.example.SampleProject.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NameSearchIndexTest {
+
+    NameSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NameSearchIndex();
+        index.put(1, "Maria");
+        index.put(2, "Mario");
+        index.put(3, "mar");
+        index.put(4, "Anna-Maria");
+        index.put(5, "Ramara");
+        index.put(6, "Tamar");
+        index.markReady();
+    }
+
+    @Test
+    void exactThenPrefixThenWordStartThenOtherSubstrings() {
+        assertThat(names(index.search("MAR", null, 20)))
+                .containsExactly("mar", "Maria", "Mario", "Anna-Maria", "Ramara", "Tamar");
+    }
+
+    @Test
+    void shortQueriesOnlyMatchPrefixes() {
+        assertThat(names(index.search("ma", null, 20))).containsExactly("mar", "Maria", "Mario");
+    }
+
+    @Test
+    void substringMustContainTheWholeQuery() {
+        assertThat(names(index.search("aria", null, 20))).containsExactly("Anna-Maria", "Maria");
+    }
+
+    @Test
+    void renamedAndRemovedNamesLeaveTheIndex() {
+        index.put(2, "Zed");
+        index.remove(6);
+
+        assertThat(names(index.search("mar", null, 20))).containsExactly("mar", "Maria", "Anna-Maria", "Ramara");
+        assertThat(names(index.search("zed", null, 20))).containsExactly("Zed");
+    }
+
+    @Test
+    void cursorWalksTheRankingPageByPage() {
+        CursorPage<NameSearchIndex.Hit> first = index.search("mar", null, 4);
+        assertThat(names(first)).containsExactly("mar", "Maria", "Mario", "Anna-Maria");
+        assertThat(first.getNext()).isNotNull();
+
+        CursorPage<NameSearchIndex.Hit> second = index.search("mar", first.getNext(), 4);
+        assertThat(names(second)).containsExactly("Ramara", "Tamar");
+        assertThat(second.getNext()).isNull();
+    }
+
+    @Test
+    void foreignCursorsAreRejected() {
+        assertThatThrownBy(() -> index.search("mar", "not-a-cursor", 4)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> index.search("mar", "czotMQ", 4)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> index.search(" ", null, 4)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void searchesWaitForTheInitialLoad() {
+        NameSearchIndex loading = new NameSearchIndex();
+        loading.put(1, "Maria");
+
+        assertThatThrownBy(() -> loading.search("mar", null, 10))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting("errorCode").isEqualTo("SEARCH_INDEX_NOT_READY");
+
+        loading.markReady();
+        assertThat(names(loading.search("mar", null, 10))).containsExactly("Maria");
+    }
+
+    @Test
+    void substringMatchingStopsAfterTheCandidateLimit() {
+        NameSearchIndex large = new NameSearchIndex();
+        for (int id = 1; id <= NameSearchIndex.MAX_CANDIDATES; id++) {
+            large.put(id, "user-xyz-" + id);
+        }
+        // Would rank first, but lies beyond the candidates that are checked
+        large.put(NameSearchIndex.MAX_CANDIDATES + 1, "a-xyz");
+        large.markReady();
+
+        List<String> hits = names(large.search("xyz", null, 5));
+        assertThat(hits).hasSize(5).doesNotContain("a-xyz").allMatch(name -> name.startsWith("user-xyz-"));
+    }
+
+    private static List<String> names(CursorPage<NameSearchIndex.Hit> page) {
+        List<String> names = new ArrayList<>();
+        for (NameSearchIndex.Hit hit : page.getItems()) {
+            names.add(hit.getName());
+        }
+        return names;
+    }
+}
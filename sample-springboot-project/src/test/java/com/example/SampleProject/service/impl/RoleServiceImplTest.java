@@ -0,0 +1,177 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.dto.PermissionMatrixDto;
+import com.example.SampleProject.dto.PermissionMatrixResult;
+import com.example.SampleProject.exception.RecordNotFoundException;
+import com.example.SampleProject.service.RoleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RoleServiceImplTest {
+
+    @Autowired
+    RoleService roleService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    long roleA;
+    long roleB;
+    List<Long> permissions;
+
+    @BeforeEach
+    void setUp() {
+        roleA = role("MATRIX_A");
+        roleB = role("MATRIX_B");
+        permissions = jdbcTemplate.queryForList("SELECT id FROM permissions ORDER BY id LIMIT 4", Long.class);
+        roleService.applyPermissionMatrix(matrix(roleA, Set.of(permissions.get(0), permissions.get(1)),
+                roleB, Set.of(permissions.get(0))));
+    }
+
+    @Test
+    void onlyTheDifferencesAreWritten() {
+        PermissionMatrixResult result = roleService.applyPermissionMatrix(matrix(
+                roleA, Set.of(permissions.get(1), permissions.get(2), permissions.get(3)),
+                roleB, Set.of(permissions.get(0))));
+
+        assertThat(result).isEqualTo(new PermissionMatrixResult(1, 2, 1));
+        assertThat(grants(roleA)).containsExactlyInAnyOrder(permissions.get(1), permissions.get(2), permissions.get(3));
+        assertThat(grants(roleB)).containsExactly(permissions.get(0));
+    }
+
+    @Test
+    void unchangedMatrixWritesNothing() {
+        long versionA = version(roleA);
+
+        PermissionMatrixResult result = roleService.applyPermissionMatrix(matrix(
+                roleA, Set.of(permissions.get(0), permissions.get(1)),
+                roleB, Set.of(permissions.get(0))));
+
+        assertThat(result).isEqualTo(new PermissionMatrixResult(0, 0, 0));
+        assertThat(version(roleA)).isEqualTo(versionA);
+    }
+
+    @Test
+    void collectionETagMovesOnlyWhenAMatrixChangesSomething() {
+        String before = roleService.getCollectionETag();
+
+        roleService.applyPermissionMatrix(matrix(
+                roleA, Set.of(permissions.get(0), permissions.get(1)),
+                roleB, Set.of(permissions.get(0))));
+        assertThat(roleService.getCollectionETag()).isEqualTo(before);
+
+        assertThatThrownBy(() -> roleService.applyPermissionMatrix(matrix(roleA, Set.of(permissions.get(2)),
+                roleB, Set.of(Long.MAX_VALUE)))).isInstanceOf(RecordNotFoundException.class);
+        assertThat(roleService.getCollectionETag()).isEqualTo(before);
+
+        roleService.applyPermissionMatrix(matrix(
+                roleA, Set.of(permissions.get(2)),
+                roleB, Set.of(permissions.get(0))));
+        assertThat(roleService.getCollectionETag()).isNotEqualTo(before);
+    }
+
+    @Test
+    void emptyGrantsRevokeEverything() {
+        Map<Long, Set<Long>> grants = new HashMap<>();
+        grants.put(roleA, null);
+
+        PermissionMatrixResult result = roleService.applyPermissionMatrix(new PermissionMatrixDto(grants));
+
+        assertThat(result).isEqualTo(new PermissionMatrixResult(1, 0, 2));
+        assertThat(grants(roleA)).isEmpty();
+        assertThat(grants(roleB)).containsExactly(permissions.get(0));
+    }
+
+    @Test
+    void unknownRolesAndPermissionsAreRejected() {
+        assertThatThrownBy(() -> roleService.applyPermissionMatrix(matrix(roleA, Set.of(permissions.get(0)),
+                Long.MAX_VALUE, Set.of(permissions.get(0)))))
+                .isInstanceOf(RecordNotFoundException.class)
+                .hasMessageContaining("Role");
+        assertThatThrownBy(() -> roleService.applyPermissionMatrix(matrix(roleA, Set.of(Long.MAX_VALUE),
+                roleB, Set.of(permissions.get(0)))))
+                .isInstanceOf(RecordNotFoundException.class)
+                .hasMessageContaining("Permission");
+        assertThat(grants(roleA)).containsExactlyInAnyOrder(permissions.get(0), permissions.get(1));
+    }
+
+    @Test
+    void concurrentMatricesForTheSameRolesApplyOneAfterTheOther() throws Exception {
+        List<PermissionMatrixDto> matrices = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Set<Long> granted = Set.of(permissions.get(i % 4), permissions.get((i + 1) % 4));
+            matrices.add(matrix(roleA, granted, roleB, granted));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(matrices.size());
+        try {
+            for (int round = 0; round < 5; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<PermissionMatrixResult>> results = new ArrayList<>();
+                for (PermissionMatrixDto matrix : matrices) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return roleService.applyPermissionMatrix(matrix);
+                    }));
+                }
+                start.countDown();
+                for (Future<PermissionMatrixResult> result : results) {
+                    result.get(30, TimeUnit.SECONDS);
+                }
+
+                // Both roles always end up with the grants of the same, last applied matrix
+                assertThat(grants(roleA)).isEqualTo(grants(roleB));
+                assertThat(grants(roleA)).hasSize(2);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long role(String name) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM roles WHERE name = ?", Long.class, name);
+        if (!ids.isEmpty()) {
+            return ids.get(0);
+        }
+        jdbcTemplate.update("INSERT INTO roles (name) VALUES (?)", name);
+        return jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = ?", Long.class, name);
+    }
+
+    private Set<Long> grants(long roleId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT permission_id FROM role_permissions WHERE role_id = ?", Long.class, roleId));
+    }
+
+    private long version(long roleId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM roles WHERE id = ?", Long.class, roleId);
+    }
+
+    private static PermissionMatrixDto matrix(long firstRole, Set<Long> firstGrants,
+                                              long secondRole, Set<Long> secondGrants) {
+        Map<Long, Set<Long>> grants = new HashMap<>();
+        grants.put(firstRole, firstGrants);
+        grants.put(secondRole, secondGrants);
+        return new PermissionMatrixDto(grants);
+    }
+}
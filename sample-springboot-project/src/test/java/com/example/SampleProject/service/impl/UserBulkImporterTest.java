@@ -0,0 +1,208 @@
+package com.example.SampleProject.service.impl;
+
+import com.example.SampleProject.config.security.PasswordHashingExecutor;
+import com.example.SampleProject.dto.BulkImportReport;
+import com.example.SampleProject.dto.BulkImportReport.RowResult;
+import com.example.SampleProject.dto.BulkImportReport.Status;
+import com.example.SampleProject.dto.ExportFormat;
+import com.example.SampleProject.exception.ErrorLogLimiter;
+import com.example.SampleProject.model.Role;
+import com.example.SampleProject.model.User;
+import com.example.SampleProject.repository.RoleRepository;
+import com.example.SampleProject.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.Validator;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserBulkImporterTest {
+
+    @Autowired
+    UserBulkImporter userBulkImporter;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Autowired
+    PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    UserDetailsCache userDetailsCache;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ErrorLogLimiter errorLogLimiter;
+
+    @Autowired
+    UserSearchIndex userSearchIndex;
+
+    @Autowired
+    ChangeLogWriter changeLogWriter;
+
+    @Autowired
+    CollectionVersions collectionVersions;
+
+    @Test
+    void csvQuotedFieldsMayContainSeparatorsQuotesAndLineBreaks() throws IOException {
+        BulkImportReport report = importUsers(ExportFormat.CSV,
+                "name,password,roles\r\n"
+                        + "\"csv,comma\",\"pass\"\"word1\",TEACHER;STUDENT\r\n"
+                        + "\r\n"
+                        + "csv.newline,\"two\nlines\",\" STUDENT \"\n");
+
+        assertThat(report.getRows()).extracting(RowResult::getRow, RowResult::getName, RowResult::getStatus)
+                .containsExactly(tuple(1, "csv,comma", Status.CREATED), tuple(2, "csv.newline", Status.CREATED));
+
+        User comma = userRepository.findWithRolesByName("csv,comma").orElseThrow();
+        assertThat(bCryptPasswordEncoder.matches("pass\"word1", comma.getPassword())).isTrue();
+        assertThat(comma.getRoles().stream().map(Role::getName).collect(Collectors.toSet()))
+                .containsExactlyInAnyOrder("TEACHER", "STUDENT");
+
+        User newline = userRepository.findWithRolesByName("csv.newline").orElseThrow();
+        assertThat(bCryptPasswordEncoder.matches("two\nlines", newline.getPassword())).isTrue();
+        assertThat(newline.getRoles()).extracting(Role::getName).containsExactly("STUDENT");
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsRejectsEveryRow() throws IOException {
+        BulkImportReport report = importUsers(ExportFormat.CSV, "name,roles\ncsv.nopassword,STUDENT\n");
+
+        assertThat(report.getRows()).extracting(RowResult::getStatus, RowResult::getMessage)
+                .containsExactly(tuple(Status.INVALID, "CSV header must contain the columns name and password"));
+    }
+
+    @Test
+    void ndjsonAcceptsRoleNamesAndRoleObjects() throws IOException {
+        BulkImportReport report = importUsers(ExportFormat.NDJSON,
+                "{\"name\":\"nd.names\",\"password\":\"password123\",\"roles\":[\"STUDENT\"]}\n"
+                        + "\n"
+                        + "{\"name\":\"nd.objects\",\"password\":\"password123\",\"roles\":[{\"id\":2,\"name\":\"TEACHER\"}]}\n"
+                        + "{\"name\":\"nd.broken\",\n"
+                        + "[\"nd.array\"]\n"
+                        + "{\"name\":\"nd.badroles\",\"password\":\"password123\",\"roles\":\"STUDENT\"}\n");
+
+        assertThat(report.getRows()).extracting(RowResult::getRow, RowResult::getStatus, RowResult::getMessage)
+                .containsExactly(
+                        tuple(1, Status.CREATED, null),
+                        tuple(2, Status.CREATED, null),
+                        tuple(3, Status.INVALID, "Malformed JSON"),
+                        tuple(4, Status.INVALID, "Expected a JSON object"),
+                        tuple(5, Status.INVALID, "roles must be an array of role names"));
+        assertThat(userRepository.findWithRolesByName("nd.objects").orElseThrow().getRoles())
+                .extracting(Role::getName).containsExactly("TEACHER");
+    }
+
+    @Test
+    void duplicatesWithinTheUploadAndAgainstExistingUsersAreReported() throws IOException {
+        BulkImportReport report = importUsers(ExportFormat.NDJSON,
+                "{\"name\":\"dup.first\",\"password\":\"password123\"}\n"
+                        + "{\"name\":\"dup.first\",\"password\":\"password456\"}\n"
+                        + "{\"name\":\"teacher1\",\"password\":\"password123\"}\n"
+                        + "{\"name\":\"dup.second\",\"password\":\"password123\"}\n");
+
+        assertThat(report.getRows()).extracting(RowResult::getRow, RowResult::getStatus, RowResult::getMessage)
+                .containsExactly(
+                        tuple(1, Status.CREATED, null),
+                        tuple(2, Status.DUPLICATE, "Name appears earlier in the upload"),
+                        tuple(3, Status.DUPLICATE, "User already exists"),
+                        tuple(4, Status.CREATED, null));
+        assertThat(bCryptPasswordEncoder.matches("password123",
+                userRepository.findByName("dup.first").orElseThrow().getPassword())).isTrue();
+    }
+
+    @Test
+    void reportCountsEveryRowInUploadOrder() throws IOException {
+        BulkImportReport report = importUsers(ExportFormat.CSV,
+                "name,password,roles\n"
+                        + "report.ok,password123,STUDENT\n"
+                        + "report.short,12345,STUDENT\n"
+                        + "report.role,password123,JANITOR\n"
+                        + "ab,password123,\n"
+                        + "teacher1,password123,\n");
+
+        assertThat(report.getTotal()).isEqualTo(5);
+        assertThat(report.getCreated()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(4);
+        assertThat(report.getFailed()).isZero();
+        assertThat(report.getRows()).extracting(RowResult::getRow, RowResult::getStatus, RowResult::getMessage)
+                .containsExactly(
+                        tuple(1, Status.CREATED, null),
+                        tuple(2, Status.INVALID, "Password must be between 6 and 100 characters"),
+                        tuple(3, Status.INVALID, "Role not found: JANITOR"),
+                        tuple(4, Status.INVALID, "Username must be between 3 and 50 characters"),
+                        tuple(5, Status.DUPLICATE, "User already exists"));
+    }
+
+    @Test
+    void nameTakenAfterTheExistenceCheckOnlyRejectsThatRow() throws IOException {
+        // Simulates a signup committing between the existence check and the insert
+        UserRepository staleRepository = mock(UserRepository.class);
+        when(staleRepository.findExistingNames(anyCollection())).thenReturn(Collections.emptyList());
+        UserBulkImporter importer = new UserBulkImporter(staleRepository, roleRepository, passwordHashingExecutor,
+                bCryptPasswordEncoder, jdbcTemplate, namedParameterJdbcTemplate, transactionTemplate,
+                userDetailsCache, validator, objectMapper, errorLogLimiter, userSearchIndex, changeLogWriter,
+                collectionVersions, 500);
+
+        BulkImportReport report = importer.importUsers(ExportFormat.NDJSON, upload(
+                "{\"name\":\"race.before\",\"password\":\"password123\"}\n"
+                        + "{\"name\":\"student1\",\"password\":\"password123\"}\n"
+                        + "{\"name\":\"race.after\",\"password\":\"password123\"}\n"));
+
+        assertThat(report.getRows()).extracting(RowResult::getName, RowResult::getStatus)
+                .containsExactly(
+                        tuple("race.before", Status.CREATED),
+                        tuple("student1", Status.DUPLICATE),
+                        tuple("race.after", Status.CREATED));
+        assertThat(userRepository.findByName("race.after")).isPresent();
+        assertThat(bCryptPasswordEncoder.matches("password123",
+                userRepository.findByName("student1").orElseThrow().getPassword())).isTrue();
+    }
+
+    private BulkImportReport importUsers(ExportFormat format, String content) throws IOException {
+        return userBulkImporter.importUsers(format, upload(content));
+    }
+
+    private static ByteArrayInputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,14 @@
+-- Schema of the application before migrations, as created by Hibernate with ddl-auto=update
+create table permissions (id bigint not null auto_increment, name varchar(255), value bit, primary key (id)) engine=InnoDB;
+create table role_permissions (role_id bigint not null, permission_id bigint not null, primary key (role_id, permission_id)) engine=InnoDB;
+create table roles (id bigint not null auto_increment, name varchar(255), primary key (id)) engine=InnoDB;
+create table user_roles (user_id bigint not null, role_id bigint not null, primary key (user_id, role_id)) engine=InnoDB;
+create table users (id bigint not null auto_increment, name varchar(255), password varchar(255), primary key (id)) engine=InnoDB;
+alter table role_permissions add constraint FKegdk29eiy7mdtefy5c7eirr6e foreign key (permission_id) references permissions (id);
+alter table role_permissions add constraint FKn5fotdgk8d1xvo8nav9uv3muc foreign key (role_id) references roles (id);
+alter table user_roles add constraint FKh8ciramu9cc9q3qcqiv4ue8a6 foreign key (role_id) references roles (id);
+alter table user_roles add constraint FKhfh9dx7w3ubf1co1vdev94g3f foreign key (user_id) references users (id);
+
+insert into roles (id, name) values (1, 'ADMIN');
+insert into users (id, name, password) values (1, 'admin', 'hash');
+insert into user_roles (user_id, role_id) values (1, 1);